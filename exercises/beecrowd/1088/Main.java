@@ -1,62 +1,154 @@
-import java.util.Scanner;
+import java.io.*;
 
 /**
  * BEE 1088
- * 
+ *
+ * O vencedor depende só da paridade do número de trocas do bubble sort, que é
+ * o número de inversões do vetor. As inversões são contadas no passo de
+ * intercalação do merge sort (interleave do 07-merge-sort) em O(n lg n); quando
+ * a entrada é uma permutação de 1..n, a paridade sai em O(n) da decomposição
+ * em ciclos.
+ *
  * @author Artur Bomtempo Colen
  * @version 1.0, 06/11/2024
  */
 
 public class Main {
     static int[] numbersArray;
+    static int[] buffer;
 
-    public static void swap(int i, int j) {
-        int temp = numbersArray[i];
-        numbersArray[i] = numbersArray[j];
-        numbersArray[j] = temp;
+    // Intercala [left, middle] e [middle + 1, right] e devolve quantos pares
+    // (i, j) com i na esquerda, j na direita e numbersArray[i] > numbersArray[j] existem.
+    public static long interleave(int left, int middle, int right) {
+        int numbersLeft = middle - left + 1;
+        long inversions = 0;
+
+        System.arraycopy(numbersArray, left, buffer, left, numbersLeft);
+
+        int i = left, j = middle + 1, k = left;
+
+        while (i <= middle && j <= right) {
+            if (buffer[i] <= numbersArray[j]) {
+                numbersArray[k++] = buffer[i++];
+            } else {
+                // Todos os restantes da esquerda são maiores que numbersArray[j].
+                inversions += middle - i + 1;
+                numbersArray[k++] = numbersArray[j++];
+            }
+        }
+
+        while (i <= middle) {
+            numbersArray[k++] = buffer[i++];
+        }
+
+        return inversions;
+    }
+
+    public static long countInversions(int left, int right) {
+        if (left >= right) {
+            return 0;
+        }
+
+        int middle = (left + right) / 2;
+        long inversions = countInversions(left, middle) + countInversions(middle + 1, right);
+
+        if (numbersArray[middle] <= numbersArray[middle + 1]) {
+            return inversions;
+        }
+
+        return inversions + interleave(left, middle, right);
+    }
+
+    /**
+     * Conta as inversões de numbersArray em O(n lg n). O vetor termina ordenado.
+     *
+     * @return Número de trocas que o bubble sort faria.
+     */
+    public static long countInversions() {
+        buffer = new int[numbersArray.length];
+        return countInversions(0, numbersArray.length - 1);
     }
 
-    public static int bubbleSort() {
+    /**
+     * Paridade de uma permutação de 1..n em O(n): uma permutação com c ciclos
+     * é produto de n - c transposições, e cada troca do bubble sort muda a
+     * paridade. Os elementos visitados são marcados com o sinal negativo.
+     *
+     * @return 0 ou 1, ou -1 se numbersArray não for uma permutação de 1..n.
+     */
+    public static int permutationParity() {
         int n = numbersArray.length;
-        int movements = 0;
+        boolean permutation = true;
 
-        for (int i = 0; i < n - 1; i++) {
-            for (int j = 0; j < n - i - 1; j++) {
-                if (numbersArray[j] > numbersArray[j + 1]) {
-                    swap(j, j + 1);
-                    movements++;
+        for (int i = 0; i < n; i++) {
+            if (numbersArray[i] < 1 || numbersArray[i] > n) {
+                return -1;
+            }
+        }
+
+        // Marca a posição de cada valor; um valor repetido encontra a marca já feita.
+        for (int i = 0; i < n && permutation; i++) {
+            int position = Math.abs(numbersArray[i]) - 1;
+
+            if (numbersArray[position] < 0) {
+                permutation = false;
+            } else {
+                numbersArray[position] = -numbersArray[position];
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            numbersArray[i] = Math.abs(numbersArray[i]);
+        }
+
+        if (!permutation) {
+            return -1;
+        }
+
+        int cycles = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (numbersArray[i] > 0) {
+                cycles++;
+
+                for (int j = i; numbersArray[j] > 0; j = -numbersArray[j] - 1) {
+                    numbersArray[j] = -numbersArray[j];
                 }
             }
         }
 
-        return movements;
+        for (int i = 0; i < n; i++) {
+            numbersArray[i] = -numbersArray[i];
+        }
+
+        return (n - cycles) & 1;
     }
 
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+    public static void main(String[] args) throws IOException {
+        StreamTokenizer in = new StreamTokenizer(new BufferedReader(new InputStreamReader(System.in), 1 << 16));
+        StringBuilder out = new StringBuilder();
 
-        while (sc.hasNext()) {
-            int elementsNumber = sc.nextInt();
+        while (in.nextToken() != StreamTokenizer.TT_EOF) {
+            int elementsNumber = (int) in.nval;
 
             if (elementsNumber != 0) {
                 numbersArray = new int[elementsNumber];
 
                 for (int i = 0; i < elementsNumber; i++) {
-                    int number = sc.nextInt();
-
-                    numbersArray[i] = number;
+                    in.nextToken();
+                    numbersArray[i] = (int) in.nval;
                 }
 
-                int movements = bubbleSort();
+                int parity = permutationParity();
 
-                if (movements % 2 == 0) {
-                    System.out.println("Carlos");
-                } else {
-                    System.out.println("Marcelo");
+                if (parity < 0) {
+                    parity = (int) (countInversions() & 1);
                 }
+
+                out.append(parity == 0 ? "Carlos" : "Marcelo").append('\n');
             }
         }
 
-        sc.close();
+        System.out.print(out);
     }
-}
\ No newline at end of file
+}
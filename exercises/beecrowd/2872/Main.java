@@ -1,54 +1,142 @@
+import java.io.*;
 import java.util.*;
 
 /**
  * BEE 2872
- * 
+ *
+ * Os nomes são ordenados com o quicksort multichave (radix em três vias de
+ * Bentley e Sedgewick): cada partição olha um único caractere, e o grupo de
+ * nomes iguais nesse caractere avança para o próximo sem comparar de novo o
+ * prefixo comum. Grupos pequenos terminam com inserção a partir do caractere
+ * atual. Os caracteres de cada nome ficam em cache em keys, sem charAt.
+ *
  * @author Artur Bomtempo Colen
  * @version 1.0, 10/12/2024
  */
 public class Main {
-    private static void bubbleSort(String[] array, int n) {
-        for (int i = 0; i < n - 1; i++) {
-            for (int j = 0; j < n - 1 - i; j++) {
-                if (array[j].compareTo(array[j + 1]) > 0) {
-                    String temp = array[j];
-                    array[j] = array[j + 1];
-                    array[j + 1] = temp;
+    static final int INSERTION_THRESHOLD = 16;
+
+    static String[] packages = new String[16];
+    static char[][] keys = new char[16][];
+    static int count;
+
+    public static void add(String line) {
+        if (count == packages.length) {
+            packages = Arrays.copyOf(packages, count * 2);
+            keys = Arrays.copyOf(keys, count * 2);
+        }
+
+        packages[count] = line;
+        keys[count] = line.toCharArray();
+        count++;
+    }
+
+    // Caractere d de keys[i], ou -1 depois do fim: o nome mais curto vem antes.
+    private static int charAt(int i, int d) {
+        return d < keys[i].length ? keys[i][d] : -1;
+    }
+
+    private static void swap(int i, int j) {
+        String temp = packages[i];
+        packages[i] = packages[j];
+        packages[j] = temp;
+
+        char[] key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+    }
+
+    public static void multikeyQuickSort(int left, int right, int d) {
+        while (right - left >= INSERTION_THRESHOLD) {
+            int mid = (left + right) >>> 1;
+
+            if (charAt(left, d) > charAt(mid, d)) {
+                swap(left, mid);
+            }
+            if (charAt(mid, d) > charAt(right, d)) {
+                swap(mid, right);
+            }
+            if (charAt(left, d) > charAt(mid, d)) {
+                swap(left, mid);
+            }
+
+            swap(left, mid);
+
+            int pivot = charAt(left, d);
+            int lt = left, gt = right, i = left + 1;
+
+            while (i <= gt) {
+                int c = charAt(i, d);
+
+                if (c < pivot) {
+                    swap(lt++, i++);
+                } else if (c > pivot) {
+                    swap(i, gt--);
+                } else {
+                    i++;
                 }
             }
+
+            multikeyQuickSort(left, lt - 1, d);
+            multikeyQuickSort(gt + 1, right, d);
+
+            if (pivot < 0) {
+                return;
+            }
+
+            left = lt;
+            right = gt;
+            d++;
+        }
+
+        insertionSort(left, right, d);
+    }
+
+    // Inserção sobre [left, right], cujos nomes já coincidem nos d primeiros caracteres.
+    private static void insertionSort(int left, int right, int d) {
+        for (int i = left + 1; i <= right; i++) {
+            for (int j = i; j > left && less(keys[j], keys[j - 1], d); j--) {
+                swap(j, j - 1);
+            }
         }
     }
 
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+    private static boolean less(char[] a, char[] b, int d) {
+        int length = Math.min(a.length, b.length);
 
-        while (sc.hasNextLine()) {
-            String start = sc.nextLine();
+        for (int k = d; k < length; k++) {
+            if (a[k] != b[k]) {
+                return a[k] < b[k];
+            }
+        }
 
-            if (start.equals("1")) {
-                String[] packages = new String[10];
-                int count = 0;
+        return a.length < b.length;
+    }
 
-                while (sc.hasNextLine()) {
-                    String line = sc.nextLine();
+    public static void main(String[] args) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in), 1 << 16);
+        StringBuilder out = new StringBuilder();
+        String start;
 
-                    if (line.equals("0")) {
-                        break;
-                    }
+        while ((start = in.readLine()) != null) {
+            if (start.equals("1")) {
+                String line;
+                count = 0;
 
-                    packages[count++] = line;
+                while ((line = in.readLine()) != null && !line.equals("0")) {
+                    add(line);
                 }
 
-                bubbleSort(packages, count);
+                multikeyQuickSort(0, count - 1, 0);
 
                 for (int i = 0; i < count; i++) {
-                    System.out.println(packages[i]);
+                    out.append(packages[i]).append('\n');
                 }
 
-                System.out.println();
+                out.append('\n');
             }
         }
 
-        sc.close();
+        System.out.print(out);
     }
 }
@@ -1,47 +1,217 @@
+import java.io.*;
 import java.util.*;
 
 /**
  * BEE 2916
- * 
+ *
+ * Soma dos K maiores números sem ordenar a entrada: os números são lidos um a
+ * um e só os K maiores ficam em um heap de mínimo, em O(N lg K) tempo e O(K)
+ * memória. Quando K passa de N / QUICKSELECT_FRACTION, o heap já não economiza
+ * muita memória e o lg K pesa: a entrada é lida para um vetor e
+ * {@link #quickSelect} separa os K maiores em O(N) tempo médio.
+ *
+ * A soma é acumulada em long; a versão com bubble sort somava em int e
+ * estourava com K números grandes.
+ *
+ * Com o argumento --elements, os K maiores também são impressos, em ordem
+ * decrescente, na linha seguinte à soma.
+ *
  * @author Artur Bomtempo Colen
  * @version 1.0, 10/12/2024
  */
 public class Main {
-    public static void bubbleSort(int[] numbers, int N) {
-        for (int i = 0; i < N - 1; i++) {
-            for (int j = 0; j < N - i - 1; j++) {
-                if (numbers[j] > numbers[j + 1]) {
-                    int temp = numbers[j];
-                    numbers[j] = numbers[j + 1];
-                    numbers[j + 1] = temp;
-                }
+    static final int QUICKSELECT_FRACTION = 16;
+
+    static int[] heap = new int[16];
+    static int size;
+
+    // Heap de mínimo com base 0: a raiz é o menor dos K maiores vistos até agora.
+    public static void offer(int value, int K) {
+        if (size < K) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, Math.min(heap.length * 2, K));
+            }
+
+            int i = size++;
+
+            while (i > 0 && heap[(i - 1) / 2] > value) {
+                heap[i] = heap[(i - 1) / 2];
+                i = (i - 1) / 2;
             }
+
+            heap[i] = value;
+        } else if (K > 0 && value > heap[0]) {
+            heap[0] = value;
+            siftDown(0, size);
         }
     }
 
-    public static void main(String[] args) {
-        Scanner sc = new Scanner(System.in);
+    public static void siftDown(int i, int length) {
+        int temp = heap[i];
+        int son;
+
+        while ((son = 2 * i + 1) < length) {
+            if (son + 1 < length && heap[son + 1] < heap[son]) {
+                son++;
+            }
+
+            if (heap[son] >= temp) {
+                break;
+            }
+
+            heap[i] = heap[son];
+            i = son;
+        }
+
+        heap[i] = temp;
+    }
 
-        while (sc.hasNextLine()) {
-            int N = sc.nextInt();
-            int K = sc.nextInt();
-            int count = 0;
+    // Esvazia o heap trocando a raiz com o último: os K maiores ficam em heap[0, K)
+    // em ordem decrescente.
+    public static int[] selected() {
+        for (int last = size - 1; last > 0; last--) {
+            int temp = heap[0];
+            heap[0] = heap[last];
+            heap[last] = temp;
+            siftDown(0, last);
+        }
 
-            int[] numbers = new int[N];
+        return Arrays.copyOf(heap, size);
+    }
+
+    /**
+     * Quickselect com pivô pela mediana de três: reorganiza numbers[0, N) de
+     * modo que os K maiores fiquem em numbers[N - K, N), sem ordem entre si.
+     *
+     * @return Soma dos K maiores.
+     */
+    public static long quickSelect(int[] numbers, int N, int K) {
+        int left = 0, right = N - 1, target = N - K;
+
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+
+            if (numbers[left] > numbers[mid]) {
+                swap(numbers, left, mid);
+            }
+            if (numbers[mid] > numbers[right]) {
+                swap(numbers, mid, right);
+            }
+            if (numbers[left] > numbers[mid]) {
+                swap(numbers, left, mid);
+            }
+
+            int pivot = numbers[mid];
+            int i = left, j = right;
+
+            while (i <= j) {
+                while (numbers[i] < pivot) {
+                    i++;
+                }
+
+                while (numbers[j] > pivot) {
+                    j--;
+                }
+
+                if (i <= j) {
+                    swap(numbers, i, j);
+                    i++;
+                    j--;
+                }
+            }
 
-            for (int i = 0; i < N; i++) {
-                numbers[i] = sc.nextInt();
+            if (target <= j) {
+                right = j;
+            } else if (target >= i) {
+                left = i;
+            } else {
+                break;
             }
+        }
+
+        long sum = 0;
+
+        for (int m = Math.max(target, 0); m < N; m++) {
+            sum += numbers[m];
+        }
+
+        return sum;
+    }
+
+    // Cópia de numbers[from, to) em ordem decrescente, para imprimir os K maiores
+    // separados pelo quickSelect.
+    public static int[] descending(int[] numbers, int from, int to) {
+        int[] result = Arrays.copyOfRange(numbers, from, to);
+
+        Arrays.sort(result);
+
+        for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+            swap(result, i, j);
+        }
+
+        return result;
+    }
+
+    public static void swap(int[] numbers, int i, int j) {
+        int temp = numbers[i];
+        numbers[i] = numbers[j];
+        numbers[j] = temp;
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean printElements = args.length > 0 && args[0].equals("--elements");
+        StreamTokenizer in = new StreamTokenizer(new BufferedReader(new InputStreamReader(System.in), 1 << 16));
+        StringBuilder out = new StringBuilder();
+
+        while (in.nextToken() != StreamTokenizer.TT_EOF) {
+            int N = (int) in.nval;
+            in.nextToken();
+            int K = Math.min((int) in.nval, N);
 
-            bubbleSort(numbers, N);
+            long count = 0;
+            int[] top = null;
 
-            for (int m = N - 1; m > N - 1 - K; m--) {
-                count += numbers[m];
+            if ((long) K * QUICKSELECT_FRACTION >= N) {
+                int[] numbers = new int[N];
+
+                for (int i = 0; i < N; i++) {
+                    in.nextToken();
+                    numbers[i] = (int) in.nval;
+                }
+
+                count = quickSelect(numbers, N, K);
+
+                if (printElements) {
+                    top = descending(numbers, N - K, N);
+                }
+            } else {
+                size = 0;
+
+                for (int i = 0; i < N; i++) {
+                    in.nextToken();
+                    offer((int) in.nval, K);
+                }
+
+                for (int m = 0; m < size; m++) {
+                    count += heap[m];
+                }
+
+                if (printElements) {
+                    top = selected();
+                }
             }
 
-            System.out.println(count);
+            out.append(count).append('\n');
+
+            if (printElements) {
+                for (int m = 0; m < top.length; m++) {
+                    out.append(m == 0 ? "" : " ").append(top[m]);
+                }
+
+                out.append('\n');
+            }
         }
 
-        sc.close();
+        System.out.print(out);
     }
 }
@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.Scanner;
 
 /**
@@ -29,6 +30,30 @@ public class Main {
         return num % 2 != 0;
     }
 
+    public static void exchangeSort(int[] numbers, int M) {
+        int N = numbers.length;
+
+        for (int i = 0; i < N - 1; i++) {
+            for (int j = i + 1; j < N; j++) {
+                if (shouldSwap(numbers[i], numbers[j], M)) {
+                    int temp = numbers[i];
+                    numbers[i] = numbers[j];
+                    numbers[j] = temp;
+                }
+            }
+        }
+    }
+
+    // A ordem de shouldSwap é total, então a ordenação pela chave dá o mesmo
+    // resultado que a ordenação por trocas.
+    public static void sort(int[] numbers, int M) {
+        if (ModularKeyEncoder.supports(M)) {
+            KeyEncoder.sort(numbers, new ModularKeyEncoder(M));
+        } else {
+            exchangeSort(numbers, M);
+        }
+    }
+
     public static void main(String[] args) {
         Scanner sc = new Scanner(System.in);
 
@@ -43,15 +68,7 @@ public class Main {
                     numbers[i] = sc.nextInt();
                 }
 
-                for (int i = 0; i < N - 1; i++) {
-                    for (int j = i + 1; j < N; j++) {
-                        if (shouldSwap(numbers[i], numbers[j], M)) {
-                            int temp = numbers[i];
-                            numbers[i] = numbers[j];
-                            numbers[j] = temp;
-                        }
-                    }
-                }
+                sort(numbers, M);
 
                 System.out.println(N + " " + M);
 
@@ -71,3 +88,109 @@ public class Main {
         sc.close();
     }
 }
+
+/**
+ * Ordem de um comparador "compilada" em uma chave long: a < b na ordem original
+ * se e somente se encode(a) < encode(b) comparando sem sinal. Com a chave, o
+ * vetor pode ser ordenado por radix sort em O(n) e decodificado de volta.
+ *
+ * Cada critério ocupa um campo de bits, do mais significativo ao menos
+ * significativo; {@link #ascending} e {@link #descending} montam o campo de 32
+ * bits de um int.
+ */
+interface KeyEncoder {
+    long encode(int value);
+
+    int decode(long key);
+
+    static long ascending(int value) {
+        return (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    static long descending(int value) {
+        return ~(value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    // Radix LSD em base 256 sobre as chaves sem sinal; passadas em que todas as
+    // chaves têm o mesmo byte são puladas, o que é comum nos campos mais altos.
+    static void sort(int[] numbers, KeyEncoder encoder) {
+        int n = numbers.length;
+        long[] keys = new long[n];
+        long[] buffer = new long[n];
+        int[] count = new int[257];
+
+        for (int i = 0; i < n; i++) {
+            keys[i] = encoder.encode(numbers[i]);
+        }
+
+        for (int shift = 0; shift < 64 && n > 1; shift += 8) {
+            Arrays.fill(count, 0);
+
+            for (int i = 0; i < n; i++) {
+                count[(int) ((keys[i] >>> shift) & 0xFF) + 1]++;
+            }
+
+            if (count[(int) ((keys[0] >>> shift) & 0xFF) + 1] == n) {
+                continue;
+            }
+
+            for (int i = 0; i < 256; i++) {
+                count[i + 1] += count[i];
+            }
+
+            for (int i = 0; i < n; i++) {
+                buffer[count[(int) ((keys[i] >>> shift) & 0xFF)]++] = keys[i];
+            }
+
+            long[] temp = keys;
+            keys = buffer;
+            buffer = temp;
+        }
+
+        for (int i = 0; i < n; i++) {
+            numbers[i] = encoder.decode(keys[i]);
+        }
+    }
+}
+
+/**
+ * Ordem de shouldSwap como chave: [resto + (|M| - 1) : 31 bits][par : 1 bit][valor : 32 bits],
+ * com o valor em ordem decrescente para os ímpares e crescente para os pares.
+ * O resto de Java vai de -(|M| - 1) a |M| - 1, então o campo cabe em 31 bits
+ * enquanto |M| <= 2^30.
+ */
+class ModularKeyEncoder implements KeyEncoder {
+    static final int MAX_MODULUS = 1 << 30;
+
+    private final int M;
+
+    public ModularKeyEncoder(int M) {
+        this.M = M;
+    }
+
+    public static boolean supports(int M) {
+        return M != 0 && M != Integer.MIN_VALUE && Math.abs(M) <= MAX_MODULUS;
+    }
+
+    @Override
+    public long encode(int value) {
+        long bucket = value % M + (Math.abs(M) - 1);
+
+        if (Main.isOdd(value)) {
+            return (bucket << 33) | KeyEncoder.descending(value);
+        }
+
+        return (bucket << 33) | (1L << 32) | KeyEncoder.ascending(value);
+    }
+
+    @Override
+    public int decode(long key) {
+        int field = (int) key;
+
+        if ((key & (1L << 32)) == 0) {
+            return ~field ^ Integer.MIN_VALUE;
+        }
+
+        return field ^ Integer.MIN_VALUE;
+    }
+}
@@ -1,4 +1,11 @@
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * LAB06 - Quicksort e seu pivô
@@ -7,99 +14,614 @@ import java.util.Random;
  * @version 1.0, 07/10/2024
  */
 public class Main {
-    public static void swap(int i, int j, int[] array) {
+    static final int FIRST_PIVOT = 0;
+    static final int LAST_PIVOT = 1;
+    static final int RANDOM_PIVOT = 2;
+    static final int MEDIAN_OF_THREE = 3;
+
+    static final String[] STRATEGY_NAMES = { "Primeiro Pivô", "Último Pivô", "Pivô Aleatório", "Mediana de Três" };
+
+    static final Random random = new Random();
+
+    // Pilha de intervalos pendentes (pares left, right) das versões iterativas,
+    // reaproveitada entre as chamadas. Como o lado menor é sempre processado
+    // antes, cabem no máximo lg n intervalos: 64 bastam para qualquer vetor.
+    static final int[] workStack = new int[128];
+
+    // Modos de execução. Cada par (modo, estratégia) é uma variante com suas
+    // próprias métricas; o paralelo e o serial da tarefa paralela só usam a
+    // mediana de três.
+    static final int TWO_WAY = 0;
+    static final int THREE_WAY = 1;
+    static final int ITERATIVE = 2;
+    static final int THREE_WAY_ITERATIVE = 3;
+    static final int PARALLEL = 4;
+    static final int TASK_SERIAL = 5;
+
+    static final String[] MODE_NAMES = { "duas vias", "três vias", "iterativo", "três vias iterativo", "paralelo",
+            "serial da tarefa paralela" };
+
+    static final QuickSortMetrics METRICS = new QuickSortMetrics(variantNames());
+
+    // Contadores da chamada serial em andamento, zerados no início de cada uma e
+    // somados em METRICS no fim. Ficam fora da assinatura recursiva, e as
+    // partições é que registram cada intervalo, para que a recursão continue com
+    // os quadros dos originais: com o primeiro pivô em vetor ordenado a
+    // profundidade chega a n. Como workStack, impede chamadas concorrentes; o
+    // quicksort paralelo conta em um QuickSortCounter por tarefa.
+    static final QuickSortCounter serial = new QuickSortCounter(0);
+
+    public static int variant(int mode, int strategy) {
+        return mode * STRATEGY_NAMES.length + strategy;
+    }
+
+    private static String[] variantNames() {
+        String[] names = new String[MODE_NAMES.length * STRATEGY_NAMES.length];
+
+        for (int mode = 0; mode < MODE_NAMES.length; mode++) {
+            for (int strategy = 0; strategy < STRATEGY_NAMES.length; strategy++) {
+                names[variant(mode, strategy)] = MODE_NAMES[mode] + " (" + STRATEGY_NAMES[strategy] + ")";
+            }
+        }
+
+        return names;
+    }
+
+    // Zera as métricas acumuladas. O 10-benchmark chama antes de cada execução.
+    public static void resetCounters() {
+        METRICS.reset();
+    }
+
+    public static String counters(int mode, int strategy) {
+        return METRICS.summary(variant(mode, strategy));
+    }
+
+    public static void swap(int i, int j, int[] array, QuickSortCounter counter) {
         int temp = array[i];
         array[i] = array[j];
         array[j] = temp;
+        counter.swaps++;
     }
 
     public static void QuickSortFirstPivot(int[] array, int left, int right) {
+        long start = System.nanoTime();
+
+        serial.reset();
+        sortFirstPivot(array, left, right);
+        METRICS.record(variant(TWO_WAY, FIRST_PIVOT), right - left + 1, serial, start);
+    }
+
+    private static void sortFirstPivot(int[] array, int left, int right) {
         if (left < right) {
-            int pivotIndex = partitionFirstPivot(array, left, right);
-            QuickSortFirstPivot(array, left, pivotIndex - 1);
-            QuickSortFirstPivot(array, pivotIndex + 1, right);
+            int pivotIndex = partitionFirstPivot(array, left, right, serial);
+            sortFirstPivot(array, left, pivotIndex - 1);
+            sortFirstPivot(array, pivotIndex + 1, right);
         }
     }
 
-    private static int partitionFirstPivot(int[] array, int left, int right) {
+    private static int partitionFirstPivot(int[] array, int left, int right, QuickSortCounter counter) {
+        boolean timed = right - left >= QuickSortCounter.TIMED_PARTITION;
+        long start = timed ? System.nanoTime() : 0;
         int pivot = array[left];
         int i = left + 1;
 
+        counter.comparisons += right - left;
+
         for (int j = left + 1; j <= right; j++) {
             if (array[j] < pivot) {
-                swap(i, j, array);
+                swap(i, j, array, counter);
                 i++;
             }
         }
-        swap(left, i - 1, array);
+        swap(left, i - 1, array, counter);
+
+        if (timed) {
+            counter.partitionNanos += System.nanoTime() - start;
+        }
+
+        counter.partition(left, right, i - 1 - left, right - i + 1);
         return i - 1;
     }
 
     public static void QuickSortLastPivot(int[] array, int left, int right) {
+        long start = System.nanoTime();
+
+        serial.reset();
+        sortLastPivot(array, left, right);
+        METRICS.record(variant(TWO_WAY, LAST_PIVOT), right - left + 1, serial, start);
+    }
+
+    private static void sortLastPivot(int[] array, int left, int right) {
         if (left < right) {
-            int pivotIndex = partitionLastPivot(array, left, right);
-            QuickSortLastPivot(array, left, pivotIndex - 1);
-            QuickSortLastPivot(array, pivotIndex + 1, right);
+            int pivotIndex = partitionLastPivot(array, left, right, serial);
+            sortLastPivot(array, left, pivotIndex - 1);
+            sortLastPivot(array, pivotIndex + 1, right);
         }
     }
 
-    private static int partitionLastPivot(int[] array, int left, int right) {
+    private static int partitionLastPivot(int[] array, int left, int right, QuickSortCounter counter) {
+        boolean timed = right - left >= QuickSortCounter.TIMED_PARTITION;
+        long start = timed ? System.nanoTime() : 0;
         int pivot = array[right];
         int i = left;
 
+        counter.comparisons += right - left;
+
         for (int j = left; j < right; j++) {
             if (array[j] < pivot) {
-                swap(i, j, array);
+                swap(i, j, array, counter);
                 i++;
             }
         }
-        swap(i, right, array);
+        swap(i, right, array, counter);
+
+        if (timed) {
+            counter.partitionNanos += System.nanoTime() - start;
+        }
+
+        counter.partition(left, right, i - left, right - i);
         return i;
     }
 
     public static void QuickSortRandomPivot(int[] array, int left, int right) {
+        long start = System.nanoTime();
+
+        serial.reset();
+        sortRandomPivot(array, left, right);
+        METRICS.record(variant(TWO_WAY, RANDOM_PIVOT), right - left + 1, serial, start);
+    }
+
+    private static void sortRandomPivot(int[] array, int left, int right) {
         if (left < right) {
-            int pivotIndex = partitionRandomPivot(array, left, right);
-            QuickSortRandomPivot(array, left, pivotIndex - 1);
-            QuickSortRandomPivot(array, pivotIndex + 1, right);
+            int pivotIndex = partitionRandomPivot(array, left, right, serial);
+            sortRandomPivot(array, left, pivotIndex - 1);
+            sortRandomPivot(array, pivotIndex + 1, right);
         }
     }
 
-    private static int partitionRandomPivot(int[] array, int left, int right) {
-        Random rand = new Random();
-        int pivotIndex = left + rand.nextInt(right - left + 1);
-        swap(pivotIndex, right, array);
-        return partitionLastPivot(array, left, right);
+    private static int partitionRandomPivot(int[] array, int left, int right, QuickSortCounter counter) {
+        int pivotIndex = left + random.nextInt(right - left + 1);
+        swap(pivotIndex, right, array, counter);
+        return partitionLastPivot(array, left, right, counter);
     }
 
     public static void QuickSortMedianOfThree(int[] array, int left, int right) {
+        long start = System.nanoTime();
+
+        serial.reset();
+        sortMedianOfThree(array, left, right);
+        METRICS.record(variant(TWO_WAY, MEDIAN_OF_THREE), right - left + 1, serial, start);
+    }
+
+    private static void sortMedianOfThree(int[] array, int left, int right) {
         if (left < right) {
-            int pivotIndex = partitionMedianOfThree(array, left, right);
-            QuickSortMedianOfThree(array, left, pivotIndex - 1);
-            QuickSortMedianOfThree(array, pivotIndex + 1, right);
+            int pivotIndex = partitionMedianOfThree(array, left, right, serial);
+            sortMedianOfThree(array, left, pivotIndex - 1);
+            sortMedianOfThree(array, pivotIndex + 1, right);
         }
     }
 
-    private static int partitionMedianOfThree(int[] array, int left, int right) {
+    private static int partitionMedianOfThree(int[] array, int left, int right, QuickSortCounter counter) {
         int mid = (left + right) / 2;
-        int pivot = medianOfThree(array, left, mid, right);
-        swap(pivot, right, array);
-        return partitionLastPivot(array, left, right);
+        int pivot = medianOfThree(array, left, mid, right, counter);
+        swap(pivot, right, array, counter);
+        return partitionLastPivot(array, left, right, counter);
     }
 
-    private static int medianOfThree(int[] array, int a, int b, int c) {
+    private static int medianOfThree(int[] array, int a, int b, int c, QuickSortCounter counter) {
+        counter.comparisons += 3;
+
         if (array[a] > array[b]) {
-            swap(a, b, array);
+            swap(a, b, array, counter);
         }
         if (array[b] > array[c]) {
-            swap(b, c, array);
+            swap(b, c, array, counter);
         }
         if (array[a] > array[b]) {
-            swap(a, b, array);
+            swap(a, b, array, counter);
         }
         return b;
     }
 
+    // Posição do pivô segundo a estratégia, sem alterar o vetor (exceto a mediana
+    // de três, que ordena as três amostras como em partitionMedianOfThree).
+    private static int choosePivot(int[] array, int left, int right, int strategy, QuickSortCounter counter) {
+        switch (strategy) {
+            case FIRST_PIVOT:
+                return left;
+            case LAST_PIVOT:
+                return right;
+            case RANDOM_PIVOT:
+                return left + random.nextInt(right - left + 1);
+            default:
+                return medianOfThree(array, left, (left + right) / 2, right, counter);
+        }
+    }
+
+    /**
+     * Quicksort com partição em três vias (partitionThreeWay): o intervalo fica
+     * dividido em [< pivô | == pivô | > pivô], e as chaves iguais ao pivô não
+     * voltam a ser visitadas. Com poucas chaves
+     * distintas o custo cai de O(n²) para O(n * k), onde k é a quantidade de
+     * chaves distintas.
+     *
+     * Só o lado menor é ordenado recursivamente; o maior continua no laço, o que
+     * limita a pilha a O(lg n) chamadas mesmo com o primeiro ou o último pivô em
+     * vetores ordenados.
+     *
+     * @param strategy FIRST_PIVOT, LAST_PIVOT, RANDOM_PIVOT ou MEDIAN_OF_THREE.
+     */
+    public static void QuickSortThreeWay(int[] array, int left, int right, int strategy) {
+        long start = System.nanoTime();
+
+        serial.reset();
+        sortThreeWay(array, left, right, strategy);
+        METRICS.record(variant(THREE_WAY, strategy), right - left + 1, serial, start);
+    }
+
+    private static void sortThreeWay(int[] array, int left, int right, int strategy) {
+        while (left < right) {
+            swap(left, choosePivot(array, left, right, strategy, serial), array, serial);
+
+            long bounds = partitionThreeWay(array, left, right, serial);
+            int lt = (int) (bounds >> 32), gt = (int) bounds;
+
+            if (lt - left < right - gt) {
+                sortThreeWay(array, left, lt - 1, strategy);
+                left = gt + 1;
+            } else {
+                sortThreeWay(array, gt + 1, right, strategy);
+                right = lt - 1;
+            }
+        }
+    }
+
+    /**
+     * Partição em três vias de Bentley e McIlroy, com o pivô já em array[left].
+     * As varreduras são as de Hoare, que só trocam pares invertidos; as chaves
+     * iguais ao pivô são guardadas nas pontas e levadas para o meio no fim.
+     *
+     * A bandeira holandesa de Dijkstra, usada antes, troca todo elemento maior
+     * que o pivô com o fim do intervalo: em um vetor ordenado, depois de a
+     * mediana de três ir para array[left], o lado maior sai invertido, a mediana
+     * de três do nível seguinte escolhe um extremo e o custo vira O(n²). Aqui
+     * um trecho ordenado continua ordenado.
+     *
+     * @return lt e gt empacotados em um long (lt nos 32 bits altos), com
+     *         [left, lt) < pivô, [lt, gt] == pivô e (gt, right] > pivô.
+     */
+    static long partitionThreeWay(int[] array, int left, int right, QuickSortCounter counter) {
+        boolean timed = right - left >= QuickSortCounter.TIMED_PARTITION;
+        long start = timed ? System.nanoTime() : 0;
+        int pivot = array[left];
+        int i = left, j = right + 1;
+        int p = left, q = right + 1;
+
+        while (true) {
+            while (array[++i] < pivot) {
+                counter.comparisons++;
+
+                if (i == right) {
+                    break;
+                }
+            }
+
+            while (pivot < array[--j]) {
+                counter.comparisons++;
+
+                if (j == left) {
+                    break;
+                }
+            }
+
+            counter.comparisons += 2;
+
+            if (i == j && array[i] == pivot) {
+                swap(++p, i, array, counter);
+            }
+
+            if (i >= j) {
+                break;
+            }
+
+            swap(i, j, array, counter);
+            counter.comparisons += 2;
+
+            if (array[i] == pivot) {
+                swap(++p, i, array, counter);
+            }
+
+            if (array[j] == pivot) {
+                swap(--q, j, array, counter);
+            }
+        }
+
+        i = j + 1;
+
+        for (int k = left; k <= p; k++) {
+            swap(k, j--, array, counter);
+        }
+
+        for (int k = right; k >= q; k--) {
+            swap(k, i++, array, counter);
+        }
+
+        if (timed) {
+            counter.partitionNanos += System.nanoTime() - start;
+        }
+
+        counter.partition(left, right, j + 1 - left, right - i + 1);
+        return ((long) (j + 1) << 32) | ((i - 1) & 0xFFFFFFFFL);
+    }
+
+    private static int partition(int[] array, int left, int right, int strategy, QuickSortCounter counter) {
+        switch (strategy) {
+            case FIRST_PIVOT:
+                return partitionFirstPivot(array, left, right, counter);
+            case LAST_PIVOT:
+                return partitionLastPivot(array, left, right, counter);
+            case RANDOM_PIVOT:
+                return partitionRandomPivot(array, left, right, counter);
+            default:
+                return partitionMedianOfThree(array, left, right, counter);
+        }
+    }
+
+    /**
+     * Versão não recursiva dos quicksorts acima, com a mesma partição da
+     * estratégia escolhida. O lado maior vai para workStack e o laço continua
+     * no menor, então a pilha guarda no máximo lg n intervalos e o vetor
+     * ordenado com o primeiro pivô fica apenas lento (O(n²)), sem
+     * StackOverflowError. Nada é alocado durante a ordenação; em troca, a pilha
+     * é compartilhada e as chamadas não podem ser concorrentes.
+     *
+     * @param strategy FIRST_PIVOT, LAST_PIVOT, RANDOM_PIVOT ou MEDIAN_OF_THREE.
+     */
+    public static void QuickSortIterative(int[] array, int left, int right, int strategy) {
+        long start = System.nanoTime();
+        int first = left, last = right;
+        int top = 0;
+
+        serial.reset();
+
+        while (true) {
+            while (left < right) {
+                int pivotIndex = partition(array, left, right, strategy, serial);
+
+                if (pivotIndex - left < right - pivotIndex) {
+                    workStack[top++] = pivotIndex + 1;
+                    workStack[top++] = right;
+                    right = pivotIndex - 1;
+                } else {
+                    workStack[top++] = left;
+                    workStack[top++] = pivotIndex - 1;
+                    left = pivotIndex + 1;
+                }
+            }
+
+            if (top == 0) {
+                break;
+            }
+
+            right = workStack[--top];
+            left = workStack[--top];
+        }
+
+        METRICS.record(variant(ITERATIVE, strategy), last - first + 1, serial, start);
+    }
+
+    // Versão não recursiva de QuickSortThreeWay, com a mesma pilha de QuickSortIterative.
+    public static void QuickSortThreeWayIterative(int[] array, int left, int right, int strategy) {
+        long start = System.nanoTime();
+        int first = left, last = right;
+        int top = 0;
+
+        serial.reset();
+
+        while (true) {
+            while (left < right) {
+                swap(left, choosePivot(array, left, right, strategy, serial), array, serial);
+
+                long bounds = partitionThreeWay(array, left, right, serial);
+                int lt = (int) (bounds >> 32), gt = (int) bounds;
+
+                if (lt - left < right - gt) {
+                    workStack[top++] = gt + 1;
+                    workStack[top++] = right;
+                    right = lt - 1;
+                } else {
+                    workStack[top++] = left;
+                    workStack[top++] = lt - 1;
+                    left = gt + 1;
+                }
+            }
+
+            if (top == 0) {
+                break;
+            }
+
+            right = workStack[--top];
+            left = workStack[--top];
+        }
+
+        METRICS.record(variant(THREE_WAY_ITERATIVE, strategy), last - first + 1, serial, start);
+    }
+
+    // Vetores ordenados com mais elementos do que a pilha de chamadas suporta na
+    // versão recursiva com o primeiro ou o último pivô.
+    public static void benchmarkIterative(int size) {
+        int[] arrayOrdered = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            arrayOrdered[i] = i;
+        }
+
+        System.out.println("Versões iterativas, vetor ordenado de tamanho: " + size);
+
+        for (int strategy = FIRST_PIVOT; strategy <= MEDIAN_OF_THREE; strategy++) {
+            long startTime, endTime;
+
+            int[] arrayTest = arrayOrdered.clone();
+            resetCounters();
+            startTime = System.nanoTime();
+            QuickSortIterative(arrayTest, 0, arrayTest.length - 1, strategy);
+            endTime = System.nanoTime();
+            System.out.println("Tempo QuickSort iterativo (" + STRATEGY_NAMES[strategy] + "): "
+                    + (endTime - startTime) + " ns");
+            System.out.println("  " + counters(ITERATIVE, strategy));
+
+            arrayTest = arrayOrdered.clone();
+            resetCounters();
+            startTime = System.nanoTime();
+            QuickSortThreeWayIterative(arrayTest, 0, arrayTest.length - 1, strategy);
+            endTime = System.nanoTime();
+            System.out.println("Tempo QuickSort três vias iterativo (" + STRATEGY_NAMES[strategy] + "): "
+                    + (endTime - startTime) + " ns");
+            System.out.println("  " + counters(THREE_WAY_ITERATIVE, strategy));
+        }
+    }
+
+    // Quicksort com a partição em duas vias original da estratégia.
+    private static void QuickSortTwoWay(int[] array, int strategy) {
+        switch (strategy) {
+            case FIRST_PIVOT:
+                QuickSortFirstPivot(array, 0, array.length - 1);
+                break;
+            case LAST_PIVOT:
+                QuickSortLastPivot(array, 0, array.length - 1);
+                break;
+            case RANDOM_PIVOT:
+                QuickSortRandomPivot(array, 0, array.length - 1);
+                break;
+            default:
+                QuickSortMedianOfThree(array, 0, array.length - 1);
+        }
+    }
+
+    // Compara as partições em duas e em três vias em entradas com poucas chaves
+    // distintas: flags (2 valores), códigos de status HTTP (12 valores, quase
+    // todos 200) e identificadores de inquilino (256 valores, distribuição de Zipf).
+    public static void benchmarkLowCardinality(int size) {
+        Random rand = new Random();
+        int[] statusCodes = { 200, 200, 200, 200, 200, 200, 201, 204, 301, 304, 400, 401, 403, 404, 500, 503 };
+        double[] tenantWeights = new double[256];
+        double totalWeight = 0;
+
+        for (int t = 0; t < tenantWeights.length; t++) {
+            totalWeight += 1.0 / (t + 1);
+            tenantWeights[t] = totalWeight;
+        }
+
+        String[] names = { "flags", "status HTTP", "inquilinos" };
+        int[][] inputs = new int[names.length][size];
+
+        for (int i = 0; i < size; i++) {
+            inputs[0][i] = rand.nextInt(2);
+            inputs[1][i] = statusCodes[rand.nextInt(statusCodes.length)];
+
+            double u = rand.nextDouble() * totalWeight;
+            int tenant = 0;
+
+            while (tenantWeights[tenant] < u) {
+                tenant++;
+            }
+
+            inputs[2][i] = 1000 + tenant;
+        }
+
+        System.out.println("Poucas chaves distintas, tamanho: " + size);
+
+        for (int d = 0; d < names.length; d++) {
+            for (int strategy = FIRST_PIVOT; strategy <= MEDIAN_OF_THREE; strategy++) {
+                long startTime, endTime;
+
+                int[] arrayTest = inputs[d].clone();
+                resetCounters();
+                startTime = System.nanoTime();
+                QuickSortTwoWay(arrayTest, strategy);
+                endTime = System.nanoTime();
+                System.out.println("Tempo QuickSort duas vias (" + STRATEGY_NAMES[strategy] + ", " + names[d] + "): "
+                        + (endTime - startTime) + " ns");
+                System.out.println("  " + counters(TWO_WAY, strategy));
+
+                arrayTest = inputs[d].clone();
+                resetCounters();
+                startTime = System.nanoTime();
+                QuickSortThreeWay(arrayTest, 0, arrayTest.length - 1, strategy);
+                endTime = System.nanoTime();
+                System.out.println("Tempo QuickSort três vias (" + STRATEGY_NAMES[strategy] + ", " + names[d] + "): "
+                        + (endTime - startTime) + " ns");
+                System.out.println("  " + counters(THREE_WAY, strategy));
+            }
+        }
+    }
+
+    // As tarefas somam as próprias contagens nas métricas; aqui só entram a
+    // chamada, o tamanho e o tempo total.
+    public static void parallelQuickSort(int[] array, ForkJoinPool pool) {
+        int threshold = QuickSortTask.threshold(array.length, pool.getParallelism());
+        long start = System.nanoTime();
+
+        pool.invoke(new QuickSortTask(array, 0, array.length - 1, threshold, 1));
+        METRICS.record(variant(PARALLEL, MEDIAN_OF_THREE), array.length, new QuickSortCounter(0), start);
+    }
+
+    // Escalabilidade do quicksort paralelo de 1 até o número de processadores,
+    // comparada ao caminho serial da mesma partição. Cada medida é a melhor de
+    // algumas repetições, depois de uma rodada de aquecimento.
+    public static void benchmarkParallel(int size, int repetitions) {
+        Random rand = new Random();
+        int[] arrayRandom = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            arrayRandom[i] = rand.nextInt();
+        }
+
+        System.out.println("Quicksort paralelo, vetor aleatório de tamanho: " + size);
+
+        resetCounters();
+
+        long serial = Long.MAX_VALUE;
+
+        for (int r = 0; r <= repetitions; r++) {
+            int[] arrayTest = arrayRandom.clone();
+            long startTime = System.nanoTime();
+            QuickSortTask.sort(arrayTest, 0, arrayTest.length - 1);
+            long elapsed = System.nanoTime() - startTime;
+
+            if (r > 0) {
+                serial = Math.min(serial, elapsed);
+            }
+        }
+
+        System.out.println("Tempo QuickSort serial (Mediana de Três): " + serial + " ns");
+
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        for (int threads = 1; threads <= processors; threads = threads < processors ? Math.min(threads * 2, processors) : threads + 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long best = Long.MAX_VALUE;
+
+            for (int r = 0; r <= repetitions; r++) {
+                int[] arrayTest = arrayRandom.clone();
+                long startTime = System.nanoTime();
+                parallelQuickSort(arrayTest, pool);
+                long elapsed = System.nanoTime() - startTime;
+
+                if (r > 0) {
+                    best = Math.min(best, elapsed);
+                }
+            }
+
+            pool.shutdown();
+            System.out.println(String.format(Locale.ROOT, "Tempo QuickSort paralelo (%d threads): %d ns, aceleração %.2fx",
+                    threads, best, (double) serial / best));
+        }
+
+        System.out.println("Métricas acumuladas (todas as repetições):");
+        System.out.println(METRICS.snapshot());
+    }
+
     public static void main(String[] args) {
         int[] sizes = { 100, 1000, 10000 };
         Random rand = new Random();
@@ -124,29 +646,422 @@ public class Main {
             long startTime, endTime;
 
             int[] arrayTest = arrayOrdered.clone();
+            resetCounters();
 
             startTime = System.nanoTime();
             QuickSortFirstPivot(arrayTest, 0, arrayTest.length - 1);
             endTime = System.nanoTime();
             System.out.println("Tempo QuickSort (Primeiro Pivô): " + (endTime - startTime) + " ns");
+            System.out.println("  " + counters(TWO_WAY, FIRST_PIVOT));
 
             arrayTest = arrayOrdered.clone();
+            resetCounters();
             startTime = System.nanoTime();
             QuickSortLastPivot(arrayTest, 0, arrayTest.length - 1);
             endTime = System.nanoTime();
             System.out.println("Tempo QuickSort (Último Pivô): " + (endTime - startTime) + " ns");
+            System.out.println("  " + counters(TWO_WAY, LAST_PIVOT));
 
             arrayTest = arrayOrdered.clone();
+            resetCounters();
             startTime = System.nanoTime();
             QuickSortRandomPivot(arrayTest, 0, arrayTest.length - 1);
             endTime = System.nanoTime();
             System.out.println("Tempo QuickSort (Pivô Aleatório): " + (endTime - startTime) + " ns");
+            System.out.println("  " + counters(TWO_WAY, RANDOM_PIVOT));
 
             arrayTest = arrayOrdered.clone();
+            resetCounters();
             startTime = System.nanoTime();
             QuickSortMedianOfThree(arrayTest, 0, arrayTest.length - 1);
             endTime = System.nanoTime();
             System.out.println("Tempo QuickSort (Mediana de Três): " + (endTime - startTime) + " ns");
+            System.out.println("  " + counters(TWO_WAY, MEDIAN_OF_THREE));
+        }
+
+        benchmarkLowCardinality(10000);
+        benchmarkIterative(50000);
+        benchmarkParallel(1 << 22, 3);
+    }
+}
+
+/**
+ * Quicksort paralelo com pivô pela mediana de três: depois de cada partição os
+ * dois lados viram tarefas do ForkJoinPool. Intervalos menores que o limiar
+ * (calculado em {@link #threshold}) são ordenados em série na própria thread.
+ *
+ * A partição é em três vias, como em QuickSortThreeWay: com a de duas vias, um
+ * vetor cheio de chaves repetidas vira uma cadeia de tarefas com uma tarefa por
+ * elemento, que estoura a pilha das threads do pool. Cada tarefa conta no seu
+ * próprio QuickSortCounter e soma o resultado em Main.METRICS ao terminar.
+ */
+class QuickSortTask extends RecursiveAction {
+    static final int MIN_THRESHOLD = 1 << 13;
+    static final int TASKS_PER_THREAD = 8;
+    static final int INSERTION_THRESHOLD = 16;
+
+    private final int[] array;
+    private final int left;
+    private final int right;
+    private final int threshold;
+    private final int depth;
+
+    public QuickSortTask(int[] array, int left, int right, int threshold, int depth) {
+        this.array = array;
+        this.left = left;
+        this.right = right;
+        this.threshold = threshold;
+        this.depth = depth;
+    }
+
+    // Cerca de TASKS_PER_THREAD tarefas folha por thread do pool: o bastante para
+    // compensar partições desequilibradas sem pagar o custo de tarefas minúsculas.
+    public static int threshold(int length, int parallelism) {
+        return Math.max(MIN_THRESHOLD, length / (parallelism * TASKS_PER_THREAD));
+    }
+
+    @Override
+    protected void compute() {
+        QuickSortCounter counter = new QuickSortCounter(depth - 1);
+        int variant = Main.variant(Main.PARALLEL, Main.MEDIAN_OF_THREE);
+
+        if (right - left + 1 <= threshold) {
+            sort(array, left, right, counter);
+            Main.METRICS.add(variant, counter);
+            return;
+        }
+
+        long bounds = partition(array, left, right, counter);
+        int lt = (int) (bounds >> 32), gt = (int) bounds;
+
+        Main.METRICS.add(variant, counter);
+
+        invokeAll(new QuickSortTask(array, left, lt - 1, threshold, depth + 1),
+                new QuickSortTask(array, gt + 1, right, threshold, depth + 1));
+    }
+
+    public static void sort(int[] array, int left, int right) {
+        QuickSortCounter counter = new QuickSortCounter(0);
+        long start = System.nanoTime();
+
+        sort(array, left, right, counter);
+        Main.METRICS.record(Main.variant(Main.TASK_SERIAL, Main.MEDIAN_OF_THREE), right - left + 1, counter, start);
+    }
+
+    // Caminho serial: recursão só no lado menor e inserção nos intervalos pequenos.
+    static void sort(int[] array, int left, int right, QuickSortCounter counter) {
+        while (right - left >= INSERTION_THRESHOLD) {
+            long bounds = partition(array, left, right, counter);
+            int lt = (int) (bounds >> 32), gt = (int) bounds;
+
+            if (lt - left < right - gt) {
+                sort(array, left, lt - 1, counter);
+                left = gt + 1;
+            } else {
+                sort(array, gt + 1, right, counter);
+                right = lt - 1;
+            }
+        }
+
+        insertionSort(array, left, right, counter);
+    }
+
+    // Particiona [left, right] em [< pivô | == pivô | > pivô] e devolve os
+    // limites lt e gt da faixa igual ao pivô, empacotados em um long.
+    public static long partition(int[] array, int left, int right, QuickSortCounter counter) {
+        int mid = (left + right) >>> 1;
+
+        counter.comparisons += 3;
+
+        if (array[left] > array[mid]) {
+            swap(array, left, mid, counter);
+        }
+        if (array[mid] > array[right]) {
+            swap(array, mid, right, counter);
+        }
+        if (array[left] > array[mid]) {
+            swap(array, left, mid, counter);
+        }
+
+        swap(array, left, mid, counter);
+
+        return Main.partitionThreeWay(array, left, right, counter);
+    }
+
+    public static void insertionSort(int[] array, int left, int right, QuickSortCounter counter) {
+        for (int i = left + 1; i <= right; i++) {
+            int temp = array[i];
+            int j = i - 1;
+
+            while ((j >= left) && (array[j] > temp)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            counter.comparisons += (i - 1 - j) + (j >= left ? 1 : 0);
+            counter.moves += i - j;
+            array[j + 1] = temp;
+        }
+    }
+
+    private static void swap(int[] array, int i, int j, QuickSortCounter counter) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        counter.swaps++;
+    }
+}
+
+/**
+ * Contadores de uma única chamada de quicksort, ou de uma tarefa do quicksort
+ * paralelo. Pertence a uma só thread, então usa campos comuns; no fim é somado
+ * a {@link QuickSortMetrics}, como o SortCounter do 13-sorters.
+ *
+ * As próprias funções de partição registram cada intervalo, e o custo é de
+ * alguns incrementos de long: o desequilíbrio é guardado como somas de
+ * tamanhos, sem divisão, e só as partições de pelo menos TIMED_PARTITION
+ * elementos são cronometradas, o que deixa o System.nanoTime fora das
+ * partições pequenas, que são a grande maioria.
+ *
+ * A profundidade vem da pilha open de intervalos ainda abertos, e não de um
+ * parâmetro da recursão. Os intervalos de um quicksort são aninhados ou
+ * disjuntos e são visitados em profundidade (pela recursão ou por workStack),
+ * então os do topo que não contêm o intervalo que chega já terminaram; os que
+ * sobram são os seus ancestrais.
+ */
+class QuickSortCounter {
+    static final int TIMED_PARTITION = 1 << 12;
+
+    // Profundidade dos ancestrais que não passam por este contador (a tarefa do
+    // quicksort paralelo que o criou está em baseDepth + 1).
+    private final int baseDepth;
+    // Pares (left, right) dos intervalos abertos, do mais externo ao mais interno.
+    private int[] open = new int[128];
+    private int openCount;
+
+    long comparisons;
+    long swaps;
+    long moves;
+    int maxDepth;
+    long partitions;
+    long largerSum;
+    long sizeSum;
+    long worstLarger;
+    long worstSize = 1;
+    long partitionNanos;
+
+    QuickSortCounter(int baseDepth) {
+        this.baseDepth = baseDepth;
+    }
+
+    void reset() {
+        openCount = 0;
+        comparisons = 0;
+        swaps = 0;
+        moves = 0;
+        maxDepth = 0;
+        partitions = 0;
+        largerSum = 0;
+        sizeSum = 0;
+        worstLarger = 0;
+        worstSize = 1;
+        partitionNanos = 0;
+    }
+
+    // Partição de [left, right], com leftSize e rightSize elementos nos dois
+    // lados. O desequilíbrio é a fração do intervalo que ficou no lado maior; o
+    // pior é comparado em produto cruzado para não dividir.
+    void partition(int left, int right, int leftSize, int rightSize) {
+        while (openCount > 0 && (open[openCount - 2] > left || open[openCount - 1] < right)) {
+            openCount -= 2;
+        }
+
+        if (openCount == open.length) {
+            open = Arrays.copyOf(open, 2 * open.length);
+        }
+
+        open[openCount++] = left;
+        open[openCount++] = right;
+
+        int depth = baseDepth + openCount / 2;
+
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+
+        int total = leftSize + rightSize;
+
+        if (total == 0) {
+            return;
+        }
+
+        long larger = Math.max(leftSize, rightSize);
+
+        partitions++;
+        largerSum += larger;
+        sizeSum += total;
+
+        if (larger * worstSize > worstLarger * total) {
+            worstLarger = larger;
+            worstSize = total;
+        }
+    }
+}
+
+/**
+ * Métricas acumuladas por variante (modo e estratégia de pivô), no desenho do
+ * SortMetrics do 13-sorters: cada chamada conta em um QuickSortCounter próprio
+ * e só no final soma aqui, em LongAdders, de modo que as tarefas do quicksort
+ * paralelo não disputam os mesmos contadores.
+ */
+class QuickSortMetrics {
+
+    /**
+     * Fases cronometradas. TOTAL cobre a chamada inteira e PARTITION a soma das
+     * partições de pelo menos QuickSortCounter.TIMED_PARTITION elementos (no
+     * paralelo, somada entre as threads).
+     */
+    enum Phase {
+        TOTAL,
+        PARTITION
+    }
+
+    private final String[] names;
+    private final LongAdder[] sorts;
+    private final LongAdder[] elements;
+    private final LongAdder[] comparisons;
+    private final LongAdder[] swaps;
+    private final LongAdder[] moves;
+    private final LongAdder[] partitions;
+    private final LongAdder[] largerSum;
+    private final LongAdder[] sizeSum;
+    private final DoubleAccumulator[] worstImbalance;
+    private final LongAccumulator[] maxDepth;
+    private final LongAdder[][] phaseNanos;
+
+    public QuickSortMetrics(String[] names) {
+        int variants = names.length;
+
+        this.names = names;
+        sorts = adders(variants);
+        elements = adders(variants);
+        comparisons = adders(variants);
+        swaps = adders(variants);
+        moves = adders(variants);
+        partitions = adders(variants);
+        largerSum = adders(variants);
+        sizeSum = adders(variants);
+        worstImbalance = new DoubleAccumulator[variants];
+        maxDepth = new LongAccumulator[variants];
+        phaseNanos = new LongAdder[variants][];
+
+        for (int v = 0; v < variants; v++) {
+            worstImbalance[v] = new DoubleAccumulator(Math::max, 0);
+            maxDepth[v] = new LongAccumulator(Math::max, 0);
+            phaseNanos[v] = adders(Phase.values().length);
+        }
+    }
+
+    private static LongAdder[] adders(int length) {
+        LongAdder[] result = new LongAdder[length];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new LongAdder();
+        }
+
+        return result;
+    }
+
+    // Fim de uma chamada: conta a ordenação, o tamanho e o tempo desde start.
+    void record(int variant, int length, QuickSortCounter counter, long start) {
+        sorts[variant].increment();
+        elements[variant].add(length);
+        phaseNanos[variant][Phase.TOTAL.ordinal()].add(System.nanoTime() - start);
+        add(variant, counter);
+    }
+
+    // Soma as contagens de uma parte da ordenação (uma tarefa do paralelo).
+    void add(int variant, QuickSortCounter counter) {
+        comparisons[variant].add(counter.comparisons);
+        swaps[variant].add(counter.swaps);
+        moves[variant].add(counter.moves);
+        maxDepth[variant].accumulate(counter.maxDepth);
+        phaseNanos[variant][Phase.PARTITION.ordinal()].add(counter.partitionNanos);
+
+        if (counter.partitions > 0) {
+            partitions[variant].add(counter.partitions);
+            largerSum[variant].add(counter.largerSum);
+            sizeSum[variant].add(counter.sizeSum);
+            worstImbalance[variant].accumulate((double) counter.worstLarger / counter.worstSize);
+        }
+    }
+
+    public void reset() {
+        for (int v = 0; v < names.length; v++) {
+            sorts[v].reset();
+            elements[v].reset();
+            comparisons[v].reset();
+            swaps[v].reset();
+            moves[v].reset();
+            partitions[v].reset();
+            largerSum[v].reset();
+            sizeSum[v].reset();
+            worstImbalance[v].reset();
+            maxDepth[v].reset();
+
+            for (LongAdder phase : phaseNanos[v]) {
+                phase.reset();
+            }
+        }
+    }
+
+    // Desequilíbrio médio, ponderado pelo tamanho das partições.
+    private double averageImbalance(int variant) {
+        long size = sizeSum[variant].sum();
+
+        return size == 0 ? 0.0 : (double) largerSum[variant].sum() / size;
+    }
+
+    // Resumo de uma linha das métricas da variante.
+    public String summary(int variant) {
+
+        return String.format(Locale.ROOT,
+                "comparações=%d trocas=%d movimentos=%d profundidade máxima=%d partições=%d desequilíbrio médio=%.3f"
+                        + " pior=%.3f tempo de partição=%d ns",
+                comparisons[variant].sum(), swaps[variant].sum(), moves[variant].sum(), maxDepth[variant].get(),
+                partitions[variant].sum(), averageImbalance(variant),
+                worstImbalance[variant].get(), phaseNanos[variant][Phase.PARTITION.ordinal()].sum());
+    }
+
+    /**
+     * Cópia dos valores atuais em JSON, com um objeto por variante já usada. A
+     * cópia não é atômica entre contadores diferentes.
+     *
+     * @return Snapshot das métricas em JSON.
+     */
+    public String snapshot() {
+        StringBuilder json = new StringBuilder("{");
+        boolean first = true;
+
+        for (int v = 0; v < names.length; v++) {
+            long count = sorts[v].sum();
+
+            if (count == 0) {
+                continue;
+            }
+
+            json.append(first ? "" : ",").append("\n  \"").append(names[v]).append("\": {");
+            json.append(String.format(Locale.ROOT,
+                    "\"sorts\": %d, \"elements\": %d, \"comparisons\": %d, \"swaps\": %d, \"moves\": %d, "
+                            + "\"maxRecursionDepth\": %d, \"partitions\": %d, \"averageImbalance\": %.4f, "
+                            + "\"worstImbalance\": %.4f, \"phaseNanos\": {\"TOTAL\": %d, \"PARTITION\": %d}}",
+                    count, elements[v].sum(), comparisons[v].sum(), swaps[v].sum(), moves[v].sum(), maxDepth[v].get(),
+                    partitions[v].sum(), averageImbalance(v),
+                    worstImbalance[v].get(), phaseNanos[v][Phase.TOTAL.ordinal()].sum(),
+                    phaseNanos[v][Phase.PARTITION.ordinal()].sum()));
+            first = false;
         }
+
+        return json.append(first ? "}" : "\n}").toString();
     }
 }
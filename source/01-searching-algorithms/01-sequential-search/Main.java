@@ -1,8 +1,22 @@
+import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Código fonte - Implementação de Pesquisa Sequencial
  *
+ * As varreduras em lote (parallelSearch, parallelCount e findAll) usam o
+ * kernel vetorial de VectorScanKernel.java quando a API de vetores está
+ * disponível, e o escalar caso contrário. Como jdk.incubator.vector é um
+ * módulo incubado, ele precisa ser pedido na compilação e na execução:
+ *
+ *     javac --add-modules jdk.incubator.vector *.java
+ *     java --add-modules jdk.incubator.vector Main
+ *
+ * Compilado só com javac Main.java, o programa roda com o kernel escalar.
+ *
  * @author Artur Bomtempo Colen
  * @algorithm Sequential Search
  * @type Search Algorithm
@@ -10,6 +24,36 @@ import java.util.Random;
  * @version 1.0
  */
 public class Main {
+    static final int PARALLEL_MIN = 1 << 20;
+    static final int SEGMENT_SIZE = 1 << 18;
+
+    static final ScanKernel KERNEL = loadKernel();
+
+    // Varredura de array[from, to) por target. Fica dentro de Main para que
+    // VectorScanKernel.java a implemente sem acessar uma classe auxiliar de
+    // outro arquivo.
+    interface ScanKernel {
+        String name();
+
+        // Primeiro índice de target em [from, to), ou -1.
+        int indexOf(int[] array, int target, int from, int to);
+
+        int count(int[] array, int target, int from, int to);
+
+        // Grava em result, a partir de offset, os índices de target e devolve o novo offset.
+        int findAll(int[] array, int target, int from, int to, int[] result, int offset);
+    }
+
+    // VectorScanKernel só é referenciado por nome: sem o módulo, a classe não
+    // foi compilada ou não carrega, e a varredura fica com o kernel escalar.
+    static ScanKernel loadKernel() {
+        try {
+            return (ScanKernel) Class.forName("VectorScanKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarScanKernel();
+        }
+    }
+
     public static int sequentialSearch(int[] array, int target) {
         for (int i = 0; i < array.length; i++) {
             if (array[i] == target) {
@@ -20,6 +64,154 @@ public class Main {
         return -1;
     }
 
+    // Mesma pesquisa de sequentialSearch, restrita a array[from, to).
+    public static int sequentialSearch(int[] array, int target, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public static int count(int[] array, int target, int from, int to) {
+        int count = 0;
+
+        for (int i = from; i < to; i++) {
+            count += array[i] == target ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    // Grava em result, a partir de offset, os índices de target em array[from, to).
+    public static int findAll(int[] array, int target, int from, int to, int[] result, int offset) {
+        for (int i = from; i < to; i++) {
+            if (array[i] == target) {
+                result[offset++] = i;
+            }
+        }
+
+        return offset;
+    }
+
+    private static Scan scan(int[] array, int target, ForkJoinPool pool) {
+        int segments = Math.max(pool.getParallelism(), array.length / SEGMENT_SIZE);
+        return new Scan(array, target, segments);
+    }
+
+    /**
+     * Primeiro índice de target; vetores com PARALLEL_MIN elementos ou mais são
+     * divididos em segmentos varridos em paralelo no pool.
+     */
+    public static int parallelSearch(int[] array, int target, ForkJoinPool pool) {
+        if (array.length < PARALLEL_MIN) {
+            return KERNEL.indexOf(array, target, 0, array.length);
+        }
+
+        Scan scan = scan(array, target, pool);
+        scan.invoke(pool, Scan.FIRST);
+
+        int first = scan.first.get();
+        return first == Integer.MAX_VALUE ? -1 : first;
+    }
+
+    public static int parallelCount(int[] array, int target, ForkJoinPool pool) {
+        if (array.length < PARALLEL_MIN) {
+            return KERNEL.count(array, target, 0, array.length);
+        }
+
+        Scan scan = scan(array, target, pool);
+        scan.invoke(pool, Scan.COUNT);
+
+        int total = 0;
+
+        for (int c : scan.counts) {
+            total += c;
+        }
+
+        return total;
+    }
+
+    /**
+     * Todos os índices de target, em ordem crescente. Em paralelo, cada segmento
+     * é contado, as contagens viram posições de início e os segmentos gravam
+     * seus índices sem sincronização.
+     */
+    public static int[] findAll(int[] array, int target, ForkJoinPool pool) {
+        if (array.length < PARALLEL_MIN) {
+            int[] result = new int[KERNEL.count(array, target, 0, array.length)];
+            KERNEL.findAll(array, target, 0, array.length, result, 0);
+            return result;
+        }
+
+        Scan scan = scan(array, target, pool);
+        scan.invoke(pool, Scan.COUNT);
+
+        scan.offsets = new int[scan.segments];
+        int total = 0;
+
+        for (int s = 0; s < scan.segments; s++) {
+            scan.offsets[s] = total;
+            total += scan.counts[s];
+        }
+
+        scan.result = new int[total];
+        scan.invoke(pool, Scan.FILL);
+
+        return scan.result;
+    }
+
+    public static void benchmarkScan(int size) {
+        if (size < 1) {
+            throw new Error("O vetor precisa ter pelo menos um elemento");
+        }
+
+        Random rand = new Random();
+        int[] array = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = rand.nextInt(1 << 30) + 1;
+        }
+
+        // O alvo fica a 1/16 do fim, para que a busca pelo primeiro índice
+        // percorra quase o vetor inteiro.
+        int target = -1;
+        array[size - 1 - size / 16] = target;
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long[] best = new long[4];
+        long checksum = 0;
+
+        Arrays.fill(best, Long.MAX_VALUE);
+
+        for (int r = 0; r < 50; r++) {
+            long startTime = System.nanoTime();
+            checksum += sequentialSearch(array, target);
+            best[0] = Math.min(best[0], System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            checksum += KERNEL.indexOf(array, target, 0, size);
+            best[1] = Math.min(best[1], System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            checksum += parallelSearch(array, target, pool);
+            best[2] = Math.min(best[2], System.nanoTime() - startTime);
+
+            startTime = System.nanoTime();
+            checksum += parallelCount(array, target, pool);
+            best[3] = Math.min(best[3], System.nanoTime() - startTime);
+        }
+
+        System.out.println("\nVetor de " + size + " inteiros, alvo perto do fim (checksum " + checksum + ", "
+                + pool.getParallelism() + " threads)");
+        System.out.println("Pesquisa sequencial: " + best[0] + " ns");
+        System.out.println("Pesquisa com o kernel " + KERNEL.name() + ": " + best[1] + " ns");
+        System.out.println("Pesquisa paralela: " + best[2] + " ns");
+        System.out.println("Contagem paralela: " + best[3] + " ns");
+    }
+
     public static void generateRandomArray(int[] array) {
         Random rand = new Random();
 
@@ -55,5 +247,121 @@ public class Main {
                 System.out.println("Valor " + target + " não encontrado no vetor.");
             }
         }
+
+        System.out.print("\nÍndices de " + array[0] + ": ");
+        printArray(findAll(array, array[0], ForkJoinPool.commonPool()));
+
+        benchmarkScan(args.length > 0 ? Integer.parseInt(args[0]) : 1 << 24);
+    }
+}
+
+/**
+ * Kernel escalar, um elemento por iteração, usado sem o módulo de vetores.
+ */
+class ScalarScanKernel implements Main.ScanKernel {
+    @Override
+    public String name() {
+        return "escalar";
+    }
+
+    @Override
+    public int indexOf(int[] array, int target, int from, int to) {
+        return Main.sequentialSearch(array, target, from, to);
+    }
+
+    @Override
+    public int count(int[] array, int target, int from, int to) {
+        return Main.count(array, target, from, to);
+    }
+
+    @Override
+    public int findAll(int[] array, int target, int from, int to, int[] result, int offset) {
+        return Main.findAll(array, target, from, to, result, offset);
+    }
+}
+
+/**
+ * Estado compartilhado de uma varredura paralela: o vetor é dividido em
+ * segmentos consecutivos, e cada segmento é varrido por uma tarefa de
+ * {@link ScanTask} no modo escolhido.
+ *
+ * FIRST guarda em first o menor índice encontrado; segmentos que começam
+ * depois dele nem são varridos. COUNT conta as ocorrências por segmento e FILL
+ * grava os índices de cada segmento a partir de offsets[segmento].
+ */
+class Scan {
+    static final int FIRST = 0;
+    static final int COUNT = 1;
+    static final int FILL = 2;
+
+    final int[] array;
+    final int target;
+    final int segments;
+    final AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+    final int[] counts;
+    int[] offsets;
+    int[] result;
+    int mode;
+
+    public Scan(int[] array, int target, int segments) {
+        this.array = array;
+        this.target = target;
+        this.segments = segments;
+        this.counts = new int[segments];
+    }
+
+    public int from(int segment) {
+        return (int) ((long) array.length * segment / segments);
+    }
+
+    public void run(int segment) {
+        int from = from(segment), to = from(segment + 1);
+
+        if (mode == FIRST) {
+            if (from < first.get()) {
+                int index = Main.KERNEL.indexOf(array, target, from, to);
+
+                if (index != -1) {
+                    first.accumulateAndGet(index, Math::min);
+                }
+            }
+        } else if (mode == COUNT) {
+            counts[segment] = Main.KERNEL.count(array, target, from, to);
+        } else {
+            Main.KERNEL.findAll(array, target, from, to, result, offsets[segment]);
+        }
+    }
+
+    public void invoke(ForkJoinPool pool, int mode) {
+        this.mode = mode;
+        pool.invoke(new ScanTask(this, 0, segments));
+    }
+}
+
+/**
+ * Divide os segmentos [low, high) de uma {@link Scan} ao meio até sobrar um
+ * só, que é varrido por Scan.run no modo corrente.
+ */
+class ScanTask extends RecursiveAction {
+    private final Scan scan;
+    private final int low;
+    private final int high;
+
+    public ScanTask(Scan scan, int low, int high) {
+        this.scan = scan;
+        this.low = low;
+        this.high = high;
+    }
+
+    @Override
+    protected void compute() {
+        if (high - low == 1) {
+            scan.run(low);
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+
+        invokeAll(new ScanTask(scan, low, middle), new ScanTask(scan, middle, high));
     }
 }
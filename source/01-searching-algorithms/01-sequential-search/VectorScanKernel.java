@@ -0,0 +1,87 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel de varredura com a API de vetores (jdk.incubator.vector): cada passo
+ * compara SPECIES.length() elementos com target de uma vez (8 ints com AVX2,
+ * 16 com AVX-512) e trabalha sobre a máscara do resultado, sem um desvio por
+ * elemento. A sobra do fim do intervalo é varrida elemento a elemento.
+ *
+ * O módulo é incubado: esta classe só compila e carrega com
+ * --add-modules jdk.incubator.vector, e Main.loadKernel cai para o kernel
+ * escalar quando ela não está disponível.
+ */
+class VectorScanKernel implements Main.ScanKernel {
+    static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "vetorial, " + SPECIES.length() + " ints por comparação";
+    }
+
+    @Override
+    public int indexOf(int[] array, int target, int from, int to) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Integer> mask = IntVector.fromArray(SPECIES, array, i).eq(target);
+
+            if (mask.anyTrue()) {
+                return i + mask.firstTrue();
+            }
+        }
+
+        for (; i < to; i++) {
+            if (array[i] == target) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int count(int[] array, int target, int from, int to) {
+        int count = 0;
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+
+        for (; i < bound; i += SPECIES.length()) {
+            count += IntVector.fromArray(SPECIES, array, i).eq(target).trueCount();
+        }
+
+        for (; i < to; i++) {
+            count += array[i] == target ? 1 : 0;
+        }
+
+        return count;
+    }
+
+    // Os bits da máscara viram os índices: o menos significativo é o primeiro
+    // elemento do passo.
+    @Override
+    public int findAll(int[] array, int target, int from, int to, int[] result, int offset) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Integer> mask = IntVector.fromArray(SPECIES, array, i).eq(target);
+
+            if (mask.anyTrue()) {
+                for (long bits = mask.toLong(); bits != 0; bits &= bits - 1) {
+                    result[offset++] = i + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+
+        for (; i < to; i++) {
+            if (array[i] == target) {
+                result[offset++] = i;
+            }
+        }
+
+        return offset;
+    }
+}
@@ -11,6 +11,10 @@ import java.util.Random;
  * @version 1.0
  */
 public class Main {
+    static final int INTERLEAVE = 8;
+    static final int MERGE_BATCH = 1024;
+    static final int INTERPOLATION_PROBES = 16;
+
     public static int binarySearch(int[] array, int target) {
         int left = 0;
         int right = array.length - 1;
@@ -30,6 +34,347 @@ public class Main {
         return -1;
     }
 
+    /**
+     * Busca em lote: results[q] é o índice da primeira ocorrência de queries[q]
+     * em array (ordenado), ou -1.
+     *
+     * Lotes pequenos andam em grupos de INTERLEAVE buscas em passo único: cada
+     * nível da descida faz uma leitura de cada busca do grupo, e as faltas de
+     * cache dessas leituras independentes se sobrepõem. A partir de
+     * MERGE_BATCH consultas, elas são ordenadas e resolvidas em uma única
+     * passada sobre array, com galope a partir da posição da consulta anterior.
+     */
+    public static int[] binarySearchBatch(int[] array, int[] queries) {
+        int[] results = new int[queries.length];
+
+        if (queries.length >= MERGE_BATCH) {
+            mergeSearch(array, queries, results);
+        } else {
+            interleavedSearch(array, queries, results);
+        }
+
+        return results;
+    }
+
+    // Descida sem desvios (o tamanho do intervalo só depende de n, então todas as
+    // buscas do grupo fazem o mesmo número de passos).
+    public static void interleavedSearch(int[] array, int[] queries, int[] results) {
+        int n = array.length;
+        int[] base = new int[INTERLEAVE];
+
+        for (int start = 0; start < queries.length; start += INTERLEAVE) {
+            int group = Math.min(INTERLEAVE, queries.length - start);
+
+            for (int g = 0; g < group; g++) {
+                base[g] = 0;
+            }
+
+            for (int length = n; length > 1; length -= length >>> 1) {
+                int half = length >>> 1;
+
+                for (int g = 0; g < group; g++) {
+                    base[g] += array[base[g] + half - 1] < queries[start + g] ? half : 0;
+                }
+            }
+
+            for (int g = 0; g < group; g++) {
+                int lower = n == 0 ? 0 : base[g] + (array[base[g]] < queries[start + g] ? 1 : 0);
+                results[start + g] = lower < n && array[lower] == queries[start + g] ? lower : -1;
+            }
+        }
+    }
+
+    public static void mergeSearch(int[] array, int[] queries, int[] results) {
+        int n = array.length;
+        long[] order = new long[queries.length];
+
+        // Valor nos 32 bits altos e posição da consulta nos 32 baixos: ordenar os
+        // longs ordena as consultas pelo valor.
+        for (int q = 0; q < queries.length; q++) {
+            order[q] = ((long) queries[q] << 32) | q;
+        }
+
+        Arrays.sort(order);
+
+        int position = 0;
+
+        for (long entry : order) {
+            int q = (int) entry;
+            int target = queries[q];
+
+            position = gallop(array, position, target);
+            results[q] = position < n && array[position] == target ? position : -1;
+        }
+    }
+
+    // Menor i em [from, to) com array[i] >= target, ou to.
+    public static int lowerBound(int[] array, int from, int to, int target) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+
+            if (array[mid] < target) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+
+        return from;
+    }
+
+    public static int gallop(int[] array, int from, int target) {
+        return gallop(array, from, array.length, target);
+    }
+
+    // Menor i em [from, size) com array[i] >= target, ou size: dobra o passo até
+    // passar do alvo e termina com pesquisa binária no último intervalo.
+    public static int gallop(int[] array, int from, int size, int target) {
+        int step = 1, left = from, right = from;
+
+        while (right < size && array[right] < target) {
+            left = right + 1;
+            right = from + step;
+            step *= 2;
+        }
+
+        right = Math.min(right, size);
+
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+
+            if (array[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+
+        return left;
+    }
+
+    /**
+     * Pesquisa exponencial (galope) sobre os size primeiros elementos de array,
+     * para vetores só de inserção no fim em que a capacidade passa do tamanho
+     * ocupado. O custo é O(lg i), onde i é a posição do alvo, sem depender de size.
+     *
+     * @return Índice da primeira ocorrência de target, ou -1.
+     */
+    public static int exponentialSearch(int[] array, int size, int target) {
+        int position = gallop(array, 0, size, target);
+        return position < size && array[position] == target ? position : -1;
+    }
+
+    /**
+     * Pesquisa por interpolação: o próximo elemento examinado é o que a reta
+     * entre as extremidades do intervalo prevê para target, o que leva
+     * O(lg lg n) passos em chaves uniformes. Se o intervalo ainda não fechou
+     * depois de INTERPOLATION_PROBES passos, a distribuição não é uniforme e
+     * o restante é feito com pesquisa binária.
+     *
+     * @return Índice da primeira ocorrência de target, ou -1.
+     */
+    public static int interpolationSearch(int[] array, int target) {
+        int left = 0, right = array.length - 1;
+
+        if (right < 0 || array[right] < target) {
+            return -1;
+        }
+
+        // Invariante: a primeira posição com array[i] >= target está em [left, right].
+        for (int probes = 0; left < right && array[left] < target; probes++) {
+            int mid;
+
+            if (probes < INTERPOLATION_PROBES) {
+                double fraction = ((double) target - array[left]) / ((double) array[right] - array[left]);
+                mid = Math.min(left + (int) (fraction * (right - left)), right - 1);
+            } else {
+                mid = (left + right) >>> 1;
+            }
+
+            if (array[mid] < target) {
+                left = mid + 1;
+            } else {
+                right = mid;
+            }
+        }
+
+        return array[left] == target ? left : -1;
+    }
+
+    // Chaves ordenadas com distribuição uniforme, de Zipf (muitas chaves pequenas
+    // e uma cauda longa) ou agrupadas em poucos aglomerados estreitos.
+    public static int[] generateKeys(String distribution, int size, Random rand) {
+        int[] keys = new int[size];
+        int[] centers = new int[64];
+
+        for (int c = 0; c < centers.length; c++) {
+            centers[c] = rand.nextInt(1 << 30);
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (distribution.equals("uniforme")) {
+                keys[i] = rand.nextInt(1 << 30);
+            } else if (distribution.equals("zipf")) {
+                keys[i] = (int) Math.min(1 << 30, 1.0 / Math.pow(1.0 - rand.nextDouble(), 1.5));
+            } else {
+                keys[i] = centers[rand.nextInt(centers.length)] + (int) (rand.nextGaussian() * 1000);
+            }
+        }
+
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    public static void benchmarkStrategies(int size, int lookups) {
+        Random rand = new Random();
+
+        System.out.println("\nEstratégias de busca, vetor de " + size + " inteiros, " + lookups + " buscas");
+
+        for (String distribution : new String[] { "uniforme", "zipf", "agrupada" }) {
+            int[] keys = generateKeys(distribution, size, rand);
+            int[] queries = new int[lookups];
+
+            for (int i = 0; i < lookups; i++) {
+                queries[i] = keys[rand.nextInt(size)];
+            }
+
+            SearchSelector selector = new SearchSelector(keys);
+            long[] best = { Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE };
+            long checksum = 0;
+
+            for (int r = 0; r < 5; r++) {
+                for (int strategy = 0; strategy < best.length; strategy++) {
+                    long startTime = System.nanoTime();
+
+                    for (int query : queries) {
+                        if (strategy == 0) {
+                            checksum += binarySearch(keys, query);
+                        } else if (strategy == 1) {
+                            checksum += interpolationSearch(keys, query);
+                        } else if (strategy == 2) {
+                            checksum += exponentialSearch(keys, size, query);
+                        } else {
+                            checksum += selector.search(query);
+                        }
+                    }
+
+                    best[strategy] = Math.min(best[strategy], System.nanoTime() - startTime);
+                }
+            }
+
+            System.out.println("Chaves " + distribution + " (checksum " + checksum + "), erro da reta "
+                    + String.format("%.4f", SearchSelector.maxError(keys)) + ", seletor escolheu "
+                    + (selector.strategy == SearchSelector.INTERPOLATION ? "interpolação" : "binária"));
+            System.out.println("  binária " + best[0] / lookups + " ns, interpolação " + best[1] / lookups
+                    + " ns, exponencial " + best[2] / lookups + " ns, seletor " + best[3] / lookups + " ns por busca");
+        }
+    }
+
+    // Compara buscas individuais com a busca em lote para lotes de vários tamanhos.
+    public static void benchmarkBatch(int size) {
+        Random rand = new Random();
+        int[] array = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = rand.nextInt();
+        }
+
+        Arrays.sort(array);
+
+        System.out.println("\nBusca em lote, vetor de " + size + " inteiros");
+
+        for (int batch : new int[] { 64, 1024, 1 << 16 }) {
+            int[] queries = new int[batch];
+
+            for (int i = 0; i < batch; i++) {
+                queries[i] = array[rand.nextInt(size)];
+            }
+
+            long singleTime = Long.MAX_VALUE, batchTime = Long.MAX_VALUE;
+            long checksum = 0;
+            int rounds = Math.max(1, (1 << 20) / batch);
+
+            for (int r = 0; r < 5; r++) {
+                long startTime = System.nanoTime();
+
+                for (int round = 0; round < rounds; round++) {
+                    for (int query : queries) {
+                        checksum += binarySearch(array, query);
+                    }
+                }
+
+                singleTime = Math.min(singleTime, System.nanoTime() - startTime);
+                startTime = System.nanoTime();
+
+                for (int round = 0; round < rounds; round++) {
+                    checksum -= binarySearchBatch(array, queries)[0];
+                }
+
+                batchTime = Math.min(batchTime, System.nanoTime() - startTime);
+            }
+
+            long total = (long) rounds * batch;
+
+            System.out.println("Lote de " + batch + " (checksum " + checksum + "): individual "
+                    + singleTime / total + " ns/busca, em lote " + batchTime / total + " ns/busca");
+        }
+    }
+
+    // Chaves de série temporal: instantes em milissegundos com intervalo médio
+    // que muda de tempos em tempos e ruído em cada medida.
+    public static void benchmarkLearnedIndex(int size, int lookups) {
+        Random rand = new Random();
+        int[] keys = new int[size];
+        int time = 0, interval = 100;
+
+        for (int i = 0; i < size; i++) {
+            if (i % 100000 == 0) {
+                interval = 50 + rand.nextInt(100);
+            }
+
+            time += interval + rand.nextInt(interval / 2 + 1) - interval / 4;
+            keys[i] = time;
+        }
+
+        int[] queries = new int[lookups];
+
+        for (int i = 0; i < lookups; i++) {
+            queries[i] = rand.nextBoolean() ? keys[rand.nextInt(size)] : rand.nextInt(time);
+        }
+
+        System.out.println("\nÍndice aprendido, " + size + " chaves de série temporal, " + lookups + " buscas");
+
+        for (int epsilon : new int[] { 16, 64, 256 }) {
+            long startTime = System.nanoTime();
+            LearnedIndex index = new LearnedIndex(keys, epsilon);
+            long buildTime = System.nanoTime() - startTime;
+            long binaryTime = Long.MAX_VALUE, learnedTime = Long.MAX_VALUE;
+            long checksum = 0;
+
+            for (int r = 0; r < 5; r++) {
+                startTime = System.nanoTime();
+
+                for (int query : queries) {
+                    checksum += lowerBound(keys, 0, size, query);
+                }
+
+                binaryTime = Math.min(binaryTime, System.nanoTime() - startTime);
+                startTime = System.nanoTime();
+
+                for (int query : queries) {
+                    checksum -= index.lowerBound(query);
+                }
+
+                learnedTime = Math.min(learnedTime, System.nanoTime() - startTime);
+            }
+
+            System.out.println("epsilon " + epsilon + ": " + index.segments() + " segmentos, " + index.sizeInBytes()
+                    + " bytes (vetor: " + 4L * size + "), construção " + buildTime / 1000000 + " ms, checksum " + checksum);
+            System.out.println("  pesquisa binária " + binaryTime / lookups + " ns, índice aprendido "
+                    + learnedTime / lookups + " ns por busca");
+        }
+    }
+
     public static void generateRandomArray(int[] array) {
         Random rand = new Random();
 
@@ -48,6 +393,49 @@ public class Main {
         System.out.println("]");
     }
 
+    // Compara binarySearch com o índice de Eytzinger em buscas aleatórias sobre
+    // um vetor grande, que não cabe na cache.
+    public static void benchmarkEytzinger(int size, int lookups) {
+        Random rand = new Random();
+        int[] array = new int[size];
+        int[] queries = new int[lookups];
+
+        for (int i = 0; i < size; i++) {
+            array[i] = rand.nextInt();
+        }
+
+        Arrays.sort(array);
+
+        for (int i = 0; i < lookups; i++) {
+            queries[i] = rand.nextBoolean() ? array[rand.nextInt(size)] : rand.nextInt();
+        }
+
+        EytzingerIndex index = new EytzingerIndex(array);
+        long binaryTime = Long.MAX_VALUE, eytzingerTime = Long.MAX_VALUE;
+        long checksum = 0;
+
+        for (int r = 0; r < 5; r++) {
+            long startTime = System.nanoTime();
+
+            for (int query : queries) {
+                checksum += binarySearch(array, query);
+            }
+
+            binaryTime = Math.min(binaryTime, System.nanoTime() - startTime);
+            startTime = System.nanoTime();
+
+            for (int query : queries) {
+                checksum -= index.lowerBound(query);
+            }
+
+            eytzingerTime = Math.min(eytzingerTime, System.nanoTime() - startTime);
+        }
+
+        System.out.println("\nVetor de " + size + " inteiros, " + lookups + " buscas (checksum " + checksum + ")");
+        System.out.println("Pesquisa binária: " + binaryTime / lookups + " ns/busca");
+        System.out.println("Índice de Eytzinger: " + eytzingerTime / lookups + " ns/busca");
+    }
+
     public static void main(String[] args) {
         int[] array = new int[10];
         generateRandomArray(array);
@@ -66,5 +454,322 @@ public class Main {
                 System.out.println("Valor " + target + " não encontrado no vetor.");
             }
         }
+
+        int[] batchResults = binarySearchBatch(array, searchTargets);
+
+        System.out.print("\nEm lote: ");
+        printArray(batchResults);
+
+        benchmarkEytzinger(args.length > 0 ? Integer.parseInt(args[0]) : 1 << 22, 1 << 20);
+        benchmarkBatch(args.length > 0 ? Integer.parseInt(args[0]) : 1 << 22);
+        benchmarkStrategies(args.length > 0 ? Integer.parseInt(args[0]) : 1 << 22, 1 << 20);
+        benchmarkLearnedIndex(args.length > 0 ? Integer.parseInt(args[0]) : 1 << 22, 1 << 20);
+    }
+}
+
+/**
+ * Índice estático de busca em ordem de Eytzinger (a ordem de uma busca em
+ * largura na árvore binária de busca implícita do vetor ordenado): a raiz fica
+ * em tree[1] e os filhos de k em 2k e 2k + 1. Os primeiros níveis, visitados
+ * por todas as buscas, ficam juntos no começo do vetor e permanecem na cache,
+ * e os nós de um mesmo caminho ficam cada vez mais próximos uns dos outros.
+ *
+ * A descida não tem desvio dependente dos dados: k = 2k + (tree[k] < target),
+ * que o JIT compila com setcc. Java não expõe instrução de prefetch; como o
+ * próximo endereço depende só de uma comparação, o processador consegue
+ * especular e adiantar as leituras, o que faz o papel do prefetch explícito.
+ */
+class EytzingerIndex {
+    private final int[] tree;
+    private final int n;
+    // Altura da árvore e quantos nós ocupam o último nível, que é preenchido
+    // da esquerda para a direita.
+    private final int height;
+    private final int lastLevel;
+
+    // array precisa estar ordenado; o índice guarda uma cópia reorganizada.
+    public EytzingerIndex(int[] array) {
+        this.n = array.length;
+        this.tree = new int[n + 1];
+        this.height = 31 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+        this.lastLevel = n - (1 << height) + 1;
+
+        build(array, 0, 1);
+    }
+
+    // Percorre a árvore implícita em ordem simétrica, que visita as posições na
+    // ordem do vetor ordenado.
+    private int build(int[] array, int i, int k) {
+        if (k <= n) {
+            i = build(array, i, 2 * k);
+            tree[k] = array[i++];
+            i = build(array, i, 2 * k + 1);
+        }
+
+        return i;
+    }
+
+    // Desce até sair da árvore e volta ao último nó em que a busca foi para a
+    // esquerda: é o primeiro elemento que não satisfaz a condição da descida.
+    private int resolve(int k) {
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k == 0 ? n : rank(k);
+    }
+
+    // Posição de tree[k] no vetor ordenado, sem guardar uma tabela de n inteiros.
+    // Numa árvore completa de altura height, o nó p do nível d é o
+    // ((2p + 1) * 2^(height - d) - 1)-ésimo em ordem simétrica; o último nível
+    // ocupa as posições pares, e cada vaga dele que falta à esquerda de k
+    // adianta k em uma posição.
+    private int rank(int k) {
+        int level = 31 - Integer.numberOfLeadingZeros(k);
+        int full = ((2 * (k - (1 << level)) + 1) << (height - level)) - 1;
+
+        return full - Math.max(0, (full + 1) / 2 - lastLevel);
+    }
+
+    /**
+     * @return Menor índice i (no vetor ordenado) com array[i] >= target, ou n se não houver.
+     */
+    public int lowerBound(int target) {
+        int k = 1;
+
+        while (k <= n) {
+            k = 2 * k + (tree[k] < target ? 1 : 0);
+        }
+
+        return resolve(k);
+    }
+
+    /**
+     * @return Menor índice i (no vetor ordenado) com array[i] > target, ou n se não houver.
+     */
+    public int upperBound(int target) {
+        int k = 1;
+
+        while (k <= n) {
+            k = 2 * k + (tree[k] <= target ? 1 : 0);
+        }
+
+        return resolve(k);
+    }
+
+    /**
+     * @return Índice da primeira ocorrência de target no vetor ordenado, ou -1.
+     */
+    public int search(int target) {
+        int k = 1;
+
+        while (k <= n) {
+            k = 2 * k + (tree[k] < target ? 1 : 0);
+        }
+
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && tree[k] == target ? rank(k) : -1;
+    }
+}
+
+/**
+ * Escolhe, uma vez por vetor, entre pesquisa por interpolação e pesquisa
+ * binária. SAMPLES posições igualmente espaçadas são comparadas com a posição
+ * que a reta entre o primeiro e o último elemento prevê para elas; se o maior
+ * erro for no máximo MAX_ERROR do tamanho do vetor, as chaves estão perto de
+ * uniformes e a interpolação chega ao alvo em poucos passos.
+ */
+class SearchSelector {
+    static final int BINARY = 0;
+    static final int INTERPOLATION = 1;
+
+    static final int SAMPLES = 64;
+    static final double MAX_ERROR = 0.02;
+
+    private final int[] array;
+    public final int strategy;
+
+    public SearchSelector(int[] array) {
+        this.array = array;
+        this.strategy = maxError(array) <= MAX_ERROR ? INTERPOLATION : BINARY;
+    }
+
+    // Maior distância, em fração de n, entre a posição real de uma amostra e a
+    // posição prevista pela interpolação linear sobre o vetor inteiro.
+    public static double maxError(int[] array) {
+        int n = array.length;
+
+        if (n < 2 || array[0] == array[n - 1]) {
+            return n < 2 ? 0 : 1;
+        }
+
+        double span = (double) array[n - 1] - array[0];
+        double error = 0;
+
+        for (int s = 1; s < SAMPLES; s++) {
+            int position = (int) ((long) (n - 1) * s / SAMPLES);
+            double predicted = (array[position] - (double) array[0]) / span * (n - 1);
+
+            error = Math.max(error, Math.abs(predicted - position));
+        }
+
+        return error / n;
+    }
+
+    /**
+     * @return Índice de uma ocorrência de target, ou -1.
+     */
+    public int search(int target) {
+        if (strategy == INTERPOLATION) {
+            return Main.interpolationSearch(array, target);
+        }
+
+        return Main.binarySearch(array, target);
+    }
+}
+
+/**
+ * Índice aprendido sobre um vetor ordenado: o vetor é coberto por segmentos de
+ * reta (posição = início + inclinação * (chave - primeira chave)) tais que a
+ * posição prevista de cada chave distinta erra por no máximo epsilon. Uma
+ * busca encontra o segmento pela primeira chave (pesquisa binária entre os
+ * segmentos, que são poucos) e faz a pesquisa binária só na janela de
+ * 2 * epsilon + 2 posições em volta da previsão.
+ *
+ * Os segmentos são construídos em uma passada, com o cone de inclinações
+ * (FITing-tree, PGM-index): cada ponto estreita o intervalo de inclinações que
+ * ainda mantém todos os pontos do segmento dentro do erro, e um novo segmento
+ * começa quando o intervalo fica vazio. Cada segmento ocupa 16 bytes.
+ *
+ * O erro é garantido para a primeira ocorrência de cada chave. Se uma chave se
+ * repete mais de epsilon vezes, a busca de um valor logo depois dela pode sair
+ * da janela; nesse caso a janela é estendida com galope, no máximo até o início
+ * do segmento seguinte, onde a resposta certamente está.
+ */
+class LearnedIndex {
+    private final int[] array;
+    private final int epsilon;
+
+    private int[] segmentKeys = new int[16];
+    private int[] segmentPositions = new int[16];
+    private double[] slopes = new double[16];
+    private int segments;
+
+    // Segmento em construção: ponto de origem e cone de inclinações aceitas.
+    private int originKey;
+    private int originPosition;
+    private double slopeLow;
+    private double slopeHigh;
+
+    public LearnedIndex(int[] array, int epsilon) {
+        this.array = array;
+        this.epsilon = epsilon;
+
+        if (array.length == 0) {
+            return;
+        }
+
+        open(array[0], 0);
+
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] != array[i - 1]) {
+                add(array[i], i);
+            }
+        }
+
+        close();
+    }
+
+    private void add(int key, int position) {
+        double distance = (double) key - originKey;
+        double low = Math.max(slopeLow, (position - epsilon - originPosition) / distance);
+        double high = Math.min(slopeHigh, (position + epsilon - originPosition) / distance);
+
+        if (low > high) {
+            close();
+            open(key, position);
+        } else {
+            slopeLow = low;
+            slopeHigh = high;
+        }
+    }
+
+    private void open(int key, int position) {
+        originKey = key;
+        originPosition = position;
+        slopeLow = 0;
+        slopeHigh = Double.POSITIVE_INFINITY;
+    }
+
+    private void close() {
+        if (segments == segmentKeys.length) {
+            segmentKeys = Arrays.copyOf(segmentKeys, segments * 2);
+            segmentPositions = Arrays.copyOf(segmentPositions, segments * 2);
+            slopes = Arrays.copyOf(slopes, segments * 2);
+        }
+
+        segmentKeys[segments] = originKey;
+        segmentPositions[segments] = originPosition;
+        slopes[segments] = slopeHigh == Double.POSITIVE_INFINITY ? slopeLow : (slopeLow + slopeHigh) / 2;
+        segments++;
+    }
+
+    public int segments() {
+        return segments;
+    }
+
+    public long sizeInBytes() {
+        return 16L * segments;
+    }
+
+    /**
+     * @return Menor índice i com array[i] >= target, ou n se não houver.
+     */
+    public int lowerBound(int target) {
+        int n = array.length;
+
+        if (n == 0 || target <= array[0]) {
+            return 0;
+        }
+
+        // Último segmento com primeira chave <= target.
+        int left = 0, right = segments - 1;
+
+        while (left < right) {
+            int mid = (left + right + 1) >>> 1;
+
+            if (segmentKeys[mid] <= target) {
+                left = mid;
+            } else {
+                right = mid - 1;
+            }
+        }
+
+        // O modelo erra no máximo epsilon nas primeiras posições das chaves do
+        // segmento, então a resposta fica entre o início deste segmento e o do
+        // próximo, e a janela em volta da previsão nunca sai desse intervalo.
+        int segmentStart = segmentPositions[left];
+        int segmentEnd = left + 1 < segments ? segmentPositions[left + 1] : n;
+        double predicted = segmentPositions[left] + slopes[left] * ((double) target - segmentKeys[left]);
+        int from = (int) Math.max(segmentStart, Math.min(segmentEnd, predicted - epsilon));
+        int to = (int) Math.max(from, Math.min(segmentEnd, predicted + epsilon + 2));
+
+        // Só por arredondamento da previsão.
+        if (from > segmentStart && array[from - 1] >= target) {
+            return Main.lowerBound(array, segmentStart, from, target);
+        }
+
+        // Um target entre duas chaves do segmento é previsto a partir da chave
+        // menor; se ela se repete muitas vezes, a resposta passa da janela.
+        if (to < segmentEnd && array[to - 1] < target) {
+            return Main.gallop(array, to, segmentEnd, target);
+        }
+
+        return Main.lowerBound(array, from, to, target);
+    }
+
+    /**
+     * @return Índice da primeira ocorrência de target, ou -1.
+     */
+    public int search(int target) {
+        int position = lowerBound(target);
+        return position < array.length && array[position] == target ? position : -1;
     }
 }
@@ -11,10 +11,21 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    // C(n) e M(n) da última ordenação: comparações entre elementos e
+    // movimentações de elementos (cada troca conta três).
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static void swap(int i, int j) {
         int temp = numbersArray[i];
         numbersArray[i] = numbersArray[j];
         numbersArray[j] = temp;
+        moves += 3;
     }
 
     public static void selectionSort() {
@@ -22,6 +33,8 @@ public class Main {
             int smallest = i;
 
             for (int j = i + 1; j < n; j++) {
+                comparisons++;
+
                 if (numbersArray[smallest] > numbersArray[j]) {
                     smallest = j;
                 }
@@ -43,6 +56,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         selectionSort();
 
         System.out.println("Array ordenado:");
@@ -50,5 +64,8 @@ public class Main {
         for (int i = 0; i < n; i++) {
             System.out.print(numbersArray[i] + " ");
         }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
     }
 }
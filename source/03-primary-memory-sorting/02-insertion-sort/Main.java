@@ -11,6 +11,16 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    // Comparações e movimentações da última ordenação; a movimentação conta a
+    // cópia para temp, cada deslocamento e a escrita final.
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static void insertionSort() {
         for (int i = 1; i < n; i++) {
             int temp = numbersArray[i];
@@ -21,6 +31,8 @@ public class Main {
                 j--;
             }
 
+            comparisons += (i - 1 - j) + (j >= 0 ? 1 : 0);
+            moves += i - j + 1;
             numbersArray[j + 1] = temp;
         }
     }
@@ -37,6 +49,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         insertionSort();
 
         System.out.println("Array ordenado:");
@@ -44,5 +57,8 @@ public class Main {
         for (int i = 0; i < n; i++) {
             System.out.print(numbersArray[i] + " ");
         }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
     }
 }
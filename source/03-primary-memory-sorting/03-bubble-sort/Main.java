@@ -11,6 +11,16 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    // Comparações e movimentações da última ordenação (cada troca são três
+    // movimentações).
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static void bubbleSort() {
         boolean swapOccurred = true;
 
@@ -18,10 +28,13 @@ public class Main {
             swapOccurred = false;
 
             for (int b = 0; b < n - (rep + 1); b++) {
+                comparisons++;
+
                 if (numbersArray[b] > numbersArray[b + 1]) {
                     int temp = numbersArray[b];
                     numbersArray[b] = numbersArray[b + 1];
                     numbersArray[b + 1] = temp;
+                    moves += 3;
                     swapOccurred = true;
                 }
             }
@@ -40,6 +53,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         bubbleSort();
 
         System.out.println("Array ordenado:");
@@ -47,5 +61,8 @@ public class Main {
         for (int i = 0; i < n; i++) {
             System.out.print(numbersArray[i] + " ");
         }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
     }
 }
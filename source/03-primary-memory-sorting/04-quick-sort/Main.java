@@ -1,6 +1,10 @@
 /**
  * Código fonte - Implementação do Método Quicksort
  *
+ * networkIntroSort é o introsort com as folhas de até INSERTION_THRESHOLD
+ * elementos ordenadas por uma rede de Batcher em vez da inserção (ver
+ * 14-sorting-networks).
+ *
  * @author Artur Bomtempo Colen
  * @algorithm Sorting
  * @type Quick Sort
@@ -11,10 +15,30 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    static final int INSERTION_THRESHOLD = 16;
+
+    // Redes odd-even de Batcher para as folhas do networkIntroSort; scratch
+    // completa os blocos menores que a rede.
+    static final int[] NETWORK_8 = pairs(8);
+    static final int[] NETWORK_16 = pairs(16);
+
+    static int[] scratch = new int[INSERTION_THRESHOLD];
+
+    // Comparações entre elementos e movimentações (três por troca) da última
+    // ordenação, do quicksort ou do introsort com seus casos base.
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static void swap(int i, int j) {
         int temp = numbersArray[i];
         numbersArray[i] = numbersArray[j];
         numbersArray[j] = temp;
+        moves += 3;
     }
 
     public static void quickSort(int left, int right) {
@@ -24,12 +48,16 @@ public class Main {
         while (i <= j) {
             while (numbersArray[i] < pivot) {
                 i++;
+                comparisons++;
             }
 
             while (numbersArray[j] > pivot) {
                 j--;
+                comparisons++;
             }
 
+            comparisons += 2;
+
             if (i <= j) {
                 swap(i, j);
                 i++;
@@ -46,6 +74,197 @@ public class Main {
         }
     }
 
+    public static void insertionSort(int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int temp = numbersArray[i];
+            int j = i - 1;
+
+            while ((j >= left) && (numbersArray[j] > temp)) {
+                numbersArray[j + 1] = numbersArray[j];
+                j--;
+            }
+
+            comparisons += (i - 1 - j) + (j >= left ? 1 : 0);
+            moves += i - j + 1;
+            numbersArray[j + 1] = temp;
+        }
+    }
+
+    // Pares (i, j), i < j, da rede odd-even merge de Batcher para size potência de 2
+    // (Knuth, TAOCP vol. 3, 5.3.4), como em 14-sorting-networks.
+    public static int[] pairs(int size) {
+        int[] pairs = new int[size * size];
+        int count = 0;
+
+        for (int p = 1; p < size; p <<= 1) {
+            for (int k = p; k >= 1; k >>= 1) {
+                for (int j = k % p; j + k < size; j += 2 * k) {
+                    for (int i = 0; i < k && i + j + k < size; i++) {
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            pairs[count++] = i + j;
+                            pairs[count++] = i + j + k;
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(pairs, 0, result, 0, count);
+        return result;
+    }
+
+    // Ordena numbersArray[left, right] com a menor rede que cabe o bloco. Cada
+    // comparador conta uma comparação e duas movimentações, com ou sem troca.
+    public static void networkSort(int left, int right) {
+        int length = right - left + 1;
+
+        if (length < 2) {
+            return;
+        }
+
+        int[] pairs = length <= 8 ? NETWORK_8 : NETWORK_16;
+        int size = length <= 8 ? 8 : 16;
+        int[] array = numbersArray;
+        int from = left;
+
+        if (length < size) {
+            System.arraycopy(numbersArray, left, scratch, 0, length);
+
+            for (int i = length; i < size; i++) {
+                scratch[i] = Integer.MAX_VALUE;
+            }
+
+            array = scratch;
+            from = 0;
+        }
+
+        for (int p = 0; p < pairs.length; p += 2) {
+            int i = from + pairs[p], j = from + pairs[p + 1];
+            int x = array[i], y = array[j];
+
+            array[i] = Math.min(x, y);
+            array[j] = Math.max(x, y);
+        }
+
+        comparisons += pairs.length / 2;
+        moves += pairs.length;
+
+        if (array == scratch) {
+            System.arraycopy(scratch, 0, numbersArray, left, length);
+        }
+    }
+
+    // O heap usa índices de 1 a length como em 09-heap-sort; a posição i do
+    // heap fica em numbersArray[offset + i].
+    public static void rebuildHeap(int offset, int i, int length) {
+        while (2 * i <= length) {
+            int son = 2 * i;
+
+            if (son < length) {
+                comparisons++;
+
+                if (numbersArray[offset + son] < numbersArray[offset + son + 1]) {
+                    son++;
+                }
+            }
+
+            comparisons++;
+
+            if (numbersArray[offset + i] < numbersArray[offset + son]) {
+                swap(offset + i, offset + son);
+                i = son;
+            } else {
+                i = length;
+            }
+        }
+    }
+
+    public static void buildHeap(int offset, int length) {
+        for (int i = length / 2; i >= 1; i--) {
+            rebuildHeap(offset, i, length);
+        }
+    }
+
+    public static void heapSort(int left, int right) {
+        int offset = left - 1;
+        int length = right - left + 1;
+
+        buildHeap(offset, length);
+
+        while (length > 1) {
+            swap(offset + 1, offset + length--);
+            rebuildHeap(offset, 1, length);
+        }
+    }
+
+    public static void introSort() {
+        introSort(false);
+    }
+
+    public static void networkIntroSort() {
+        introSort(true);
+    }
+
+    public static void introSort(boolean network) {
+        if (n < 2) {
+            return;
+        }
+
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(n));
+
+        introSort(0, n - 1, depthLimit, network);
+    }
+
+    // network escolhe a ordenação das folhas: a rede de Batcher ou a inserção.
+    public static void introSort(int left, int right, int depthLimit, boolean network) {
+        while (right - left + 1 > INSERTION_THRESHOLD) {
+            if (depthLimit == 0) {
+                heapSort(left, right);
+                return;
+            }
+
+            depthLimit--;
+
+            int i = left, j = right;
+            int pivot = numbersArray[(left + right) >>> 1];
+
+            while (i <= j) {
+                while (numbersArray[i] < pivot) {
+                    i++;
+                    comparisons++;
+                }
+
+                while (numbersArray[j] > pivot) {
+                    j--;
+                    comparisons++;
+                }
+
+                comparisons += 2;
+
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+
+            if (j - left < right - i) {
+                introSort(left, j, depthLimit, network);
+                left = i;
+            } else {
+                introSort(i, right, depthLimit, network);
+                right = j;
+            }
+        }
+
+        if (network) {
+            networkSort(left, right);
+        } else {
+            insertionSort(left, right);
+        }
+    }
+
     public static void main(String[] args) {
         numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
         n = numbersArray.length;
@@ -58,6 +277,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         quickSort(0, n - 1);
 
         System.out.println("Array ordenado:");
@@ -65,5 +285,38 @@ public class Main {
         for (int i = 0; i < n; i++) {
             System.out.print(numbersArray[i] + " ");
         }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
+        n = numbersArray.length;
+
+        resetCounters();
+        introSort();
+
+        System.out.println("Array ordenado (introsort):");
+
+        for (int i = 0; i < n; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
+        n = numbersArray.length;
+
+        resetCounters();
+        networkIntroSort();
+
+        System.out.println("Array ordenado (introsort com rede de ordenação):");
+
+        for (int i = 0; i < n; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
     }
 }
@@ -1,3 +1,6 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Código fonte - Implementação do Método Shell Sort
  *
@@ -11,7 +14,27 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
-    public static void colorInsertion(int color, int h) {
+    static final int PARALLEL_GAP = 64;
+    static final int PARALLEL_MIN_SIZE = 1 << 16;
+
+    // Comparações e movimentações da última ordenação. As cores ordenadas em
+    // paralelo contam em um vetor próprio e só somam aqui no fim da tarefa.
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
+    public static synchronized void addCounters(long[] counts) {
+        comparisons += counts[0];
+        moves += counts[1];
+    }
+
+    // Inserção na cor color com incremento h, somando as comparações em
+    // counts[0] e as movimentações em counts[1].
+    public static void colorInsertion(int color, int h, long[] counts) {
         for (int i = (color + h); i < n; i += h) {
             int temp = numbersArray[i];
             int j = i - h;
@@ -21,11 +44,14 @@ public class Main {
                 j -= h;
             }
 
+            counts[0] += (i - h - j) / h + (j >= 0 ? 1 : 0);
+            counts[1] += (i - h - j) / h + 2;
             numbersArray[j + h] = temp;
         }
     }
 
     public static void shellSort() {
+        long[] counts = new long[2];
         int h = 1;
 
         do {
@@ -36,9 +62,90 @@ public class Main {
             h /= 3;
 
             for (int color = 0; color < h; color++) {
-                colorInsertion(color, h);
+                colorInsertion(color, h, counts);
             }
         } while (h != 1);
+
+        addCounters(counts);
+    }
+
+    public static int[] ciuraGaps() {
+        int[] known = { 1, 4, 10, 23, 57, 132, 301, 701, 1750 };
+        int[] gaps = new int[64];
+        int count = 0;
+
+        for (int i = 0; i < known.length && known[i] < n; i++) {
+            gaps[count++] = known[i];
+        }
+
+        if (count == known.length) {
+            for (double h = known[known.length - 1] * 2.25; h < n; h *= 2.25) {
+                gaps[count++] = (int) h;
+            }
+        }
+
+        return trim(gaps, count);
+    }
+
+    public static int[] tokudaGaps() {
+        int[] gaps = new int[64];
+        int count = 0;
+        double power = 1;
+
+        for (long h = 1; h < n || count == 0; h = (long) Math.ceil((9 * power - 4) / 5)) {
+            if (count == 0 || h > gaps[count - 1]) {
+                gaps[count++] = (int) h;
+            }
+
+            power *= 2.25;
+        }
+
+        return trim(gaps, count);
+    }
+
+    public static int[] sedgewickGaps() {
+        int[] gaps = new int[64];
+        int count = 0;
+
+        gaps[count++] = 1;
+
+        for (int k = 1; ; k++) {
+            long h = (1L << (2 * k)) + 3L * (1L << (k - 1)) + 1;
+
+            if (h >= n) {
+                break;
+            }
+
+            gaps[count++] = (int) h;
+        }
+
+        return trim(gaps, count);
+    }
+
+    public static int[] trim(int[] gaps, int count) {
+        int[] result = new int[count];
+        System.arraycopy(gaps, 0, result, 0, count);
+        return result;
+    }
+
+    // As cores de um mesmo h não compartilham elementos, então podem ser
+    // ordenadas em paralelo; para h pequeno cada cor é longa e o ganho some.
+    public static void shellSort(int[] gaps, boolean parallel) {
+        long[] counts = new long[2];
+
+        for (int g = gaps.length - 1; g >= 0; g--) {
+            int h = gaps[g];
+
+            if (parallel && h >= PARALLEL_GAP && n >= PARALLEL_MIN_SIZE) {
+                ForkJoinPool.commonPool().invoke(new ColorTask(0, h, h));
+            } else {
+                for (int color = 0; color < h; color++) {
+                    colorInsertion(color, h, counts);
+                }
+            }
+        }
+
+        addCounters(counts);
     }
 
     public static void main(String[] args) {
@@ -53,6 +160,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         shellSort();
 
         System.out.println("Array ordenado:");
@@ -60,5 +168,61 @@ public class Main {
         for (int i = 0; i < n; i++) {
             System.out.print(numbersArray[i] + " ");
         }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
+
+        resetCounters();
+        shellSort(ciuraGaps(), true);
+
+        System.out.println("Array ordenado (Ciura, paralelo):");
+
+        for (int i = 0; i < n; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+    }
+}
+
+/**
+ * Tarefa das passadas paralelas do shellSort: as cores [fromColor, toColor) de
+ * um incremento h são subsequências disjuntas, então são divididas ao meio até
+ * ficarem pequenas e cada uma é ordenada por Main.colorInsertion. As contagens
+ * de cada tarefa folha são somadas em Main uma vez só, no fim.
+ */
+class ColorTask extends RecursiveAction {
+    static final int MIN_ELEMENTS = 1 << 14;
+
+    private final int fromColor;
+    private final int toColor;
+    private final int h;
+
+    public ColorTask(int fromColor, int toColor, int h) {
+        this.fromColor = fromColor;
+        this.toColor = toColor;
+        this.h = h;
+    }
+
+    @Override
+    protected void compute() {
+        int colors = toColor - fromColor;
+
+        if (colors > 1 && (long) colors * (Main.n / h) > MIN_ELEMENTS) {
+            int middle = (fromColor + toColor) >>> 1;
+
+            invokeAll(new ColorTask(fromColor, middle, h), new ColorTask(middle, toColor, h));
+        } else {
+            long[] counts = new long[2];
+
+            for (int color = fromColor; color < toColor; color++) {
+                Main.colorInsertion(color, h, counts);
+            }
+
+            Main.addCounters(counts);
+        }
     }
 }
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 /**
  * Código fonte - Implementação do Método Counting Sort
  *
@@ -11,6 +13,19 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    static final int SPARSE_FACTOR = 4;
+    static final int MIN_DENSE_RANGE = 1 << 16;
+
+    // Comparações (só as da busca do mínimo e do máximo) e movimentações de
+    // elementos para o vetor de saída na última ordenação.
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static int getBiggestNumber() {
         int biggest = numbersArray[0];
 
@@ -20,6 +35,7 @@ public class Main {
             }
         }
 
+        comparisons += Math.max(0, n - 1);
         return biggest;
     }
 
@@ -44,9 +60,131 @@ public class Main {
             count[numbersArray[i]]--;
         }
 
+        moves += n;
         return sorted;
     }
 
+    public static int[] getRange() {
+        int smallest = numbersArray[0];
+        int biggest = numbersArray[0];
+
+        for (int i = 1; i < n; i++) {
+            comparisons++;
+
+            if (numbersArray[i] < smallest) {
+                smallest = numbersArray[i];
+            } else {
+                comparisons++;
+
+                if (numbersArray[i] > biggest) {
+                    biggest = numbersArray[i];
+                }
+            }
+        }
+
+        return new int[] { smallest, biggest };
+    }
+
+    public static boolean isDense(long range) {
+        return range <= Math.max((long) n * SPARSE_FACTOR, MIN_DENSE_RANGE);
+    }
+
+    public static int[] rangeCountingSort() {
+        if (n == 0) {
+            return new int[0];
+        }
+
+        int[] range = getRange();
+        int min = range[0];
+        long size = (long) range[1] - min + 1;
+
+        if (!isDense(size)) {
+            return radixSort(min, size);
+        }
+
+        int[] count = new int[(int) size];
+        int[] sorted = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            count[numbersArray[i] - min]++;
+        }
+
+        for (int i = 1; i < count.length; i++) {
+            count[i] += count[i - 1];
+        }
+
+        for (int i = n - 1; i >= 0; i--) {
+            sorted[--count[numbersArray[i] - min]] = numbersArray[i];
+        }
+
+        moves += n;
+        return sorted;
+    }
+
+    public static void inPlaceCountingSort() {
+        if (n == 0) {
+            return;
+        }
+
+        int[] range = getRange();
+        int min = range[0];
+        long size = (long) range[1] - min + 1;
+
+        if (!isDense(size)) {
+            System.arraycopy(radixSort(min, size), 0, numbersArray, 0, n);
+            moves += n;
+            return;
+        }
+
+        int[] count = new int[(int) size];
+
+        for (int i = 0; i < n; i++) {
+            count[numbersArray[i] - min]++;
+        }
+
+        int k = 0;
+
+        for (int i = 0; i < count.length; i++) {
+            for (int c = count[i]; c > 0; c--) {
+                numbersArray[k++] = i + min;
+            }
+        }
+
+        moves += n;
+    }
+
+    // Caminho para intervalos esparsos: radix LSD em base 256 sobre (valor - min),
+    // fazendo apenas as passadas dos bytes que o intervalo realmente ocupa.
+    public static int[] radixSort(int min, long size) {
+        int[] source = numbersArray.clone();
+        int[] buffer = new int[n];
+        int[] count = new int[257];
+
+        for (int shift = 0; shift < 32 && (size - 1) >>> shift > 0; shift += 8) {
+            Arrays.fill(count, 0);
+
+            for (int i = 0; i < n; i++) {
+                count[(((source[i] - min) >>> shift) & 0xFF) + 1]++;
+            }
+
+            for (int i = 0; i < 256; i++) {
+                count[i + 1] += count[i];
+            }
+
+            for (int i = 0; i < n; i++) {
+                buffer[count[((source[i] - min) >>> shift) & 0xFF]++] = source[i];
+            }
+
+            moves += n;
+
+            int[] temp = source;
+            source = buffer;
+            buffer = temp;
+        }
+
+        return source;
+    }
+
     public static void main(String[] args) {
         numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
         n = numbersArray.length;
@@ -59,6 +197,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         int[] sortedArray = countingSort();
 
         System.out.println("Array ordenado:");
@@ -68,5 +207,36 @@ public class Main {
         }
 
         System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 12, -4, 8, 2, 1000000000, 17, -6, 18, 10, 16, 15, 5, -2000000000, 9 };
+        n = numbersArray.length;
+
+        resetCounters();
+        sortedArray = rangeCountingSort();
+
+        System.out.println("Array ordenado (intervalo deslocado pelo mínimo):");
+
+        for (int i = 0; i < sortedArray.length; i++) {
+            System.out.print(sortedArray[i] + " ");
+        }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 112, 104, 108, 102, 114, 117, 106, 118, 110, 116, 115, 105, 113, 109, 101 };
+        n = numbersArray.length;
+
+        resetCounters();
+        inPlaceCountingSort();
+
+        System.out.println("Array ordenado (in-place):");
+
+        for (int i = 0; i < numbersArray.length; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
     }
 }
@@ -1,6 +1,12 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Código fonte - Implementação do Método Merge Sort
  *
+ * networkMergeSort para a recursão em blocos de até LEAF_SIZE elementos, que
+ * uma rede de ordenação de 14-sorting-networks ordena antes da intercalação.
+ *
  * @author Artur Bomtempo Colen
  * @algorithm Sorting
  * @type Merge Sort
@@ -11,6 +17,25 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    static final int LEAF_SIZE = 16;
+
+    // Redes odd-even de Batcher para as folhas do networkMergeSort; scratch
+    // completa os blocos menores que a rede.
+    static final int[] NETWORK_8 = pairs(8);
+    static final int[] NETWORK_16 = pairs(16);
+
+    static int[] scratch = new int[LEAF_SIZE];
+
+    // Comparações e movimentações do mergeSort e do networkMergeSort na última
+    // ordenação; o parallelMergeSort não é contado.
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static void interleave(int left, int middle, int right) {
         int numbersLeft = middle - left + 1;
         int numbersRight = right - middle;
@@ -38,6 +63,9 @@ public class Main {
                 numbersArray[k] = rightArray[j++];
             }
         }
+
+        comparisons += right - left + 1;
+        moves += 2L * (right - left + 1);
     }
 
     public static void mergeSort(int left, int right) {
@@ -50,6 +78,95 @@ public class Main {
         }
     }
 
+    // Pares (i, j), i < j, da rede odd-even merge de Batcher para size potência de 2
+    // (Knuth, TAOCP vol. 3, 5.3.4), como em 14-sorting-networks.
+    public static int[] pairs(int size) {
+        int[] pairs = new int[size * size];
+        int count = 0;
+
+        for (int p = 1; p < size; p <<= 1) {
+            for (int k = p; k >= 1; k >>= 1) {
+                for (int j = k % p; j + k < size; j += 2 * k) {
+                    for (int i = 0; i < k && i + j + k < size; i++) {
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            pairs[count++] = i + j;
+                            pairs[count++] = i + j + k;
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(pairs, 0, result, 0, count);
+        return result;
+    }
+
+    // Ordena numbersArray[left, right], até LEAF_SIZE elementos, com a menor
+    // rede que cabe o bloco. Cada comparador conta uma comparação e duas
+    // movimentações, com ou sem troca.
+    public static void networkSort(int left, int right) {
+        int length = right - left + 1;
+
+        if (length < 2) {
+            return;
+        }
+
+        int[] pairs = length <= 8 ? NETWORK_8 : NETWORK_16;
+        int size = length <= 8 ? 8 : 16;
+        int[] array = numbersArray;
+        int from = left;
+
+        if (length < size) {
+            System.arraycopy(numbersArray, left, scratch, 0, length);
+
+            for (int i = length; i < size; i++) {
+                scratch[i] = Integer.MAX_VALUE;
+            }
+
+            array = scratch;
+            from = 0;
+        }
+
+        for (int p = 0; p < pairs.length; p += 2) {
+            int i = from + pairs[p], j = from + pairs[p + 1];
+            int x = array[i], y = array[j];
+
+            array[i] = Math.min(x, y);
+            array[j] = Math.max(x, y);
+        }
+
+        comparisons += pairs.length / 2;
+        moves += pairs.length;
+
+        if (array == scratch) {
+            System.arraycopy(scratch, 0, numbersArray, left, length);
+        }
+    }
+
+    public static void networkMergeSort(int left, int right) {
+        if (right - left + 1 <= LEAF_SIZE) {
+            networkSort(left, right);
+            return;
+        }
+
+        int middle = (left + right) / 2;
+
+        networkMergeSort(left, middle);
+        networkMergeSort(middle + 1, right);
+        interleave(left, middle, right);
+    }
+
+    public static void parallelMergeSort() {
+        if (n < 2) {
+            return;
+        }
+
+        int[] buffer = numbersArray.clone();
+
+        ForkJoinPool.commonPool().invoke(new MergeSortTask(buffer, numbersArray, 0, n));
+    }
+
     public static void main(String[] args) {
         numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
         n = numbersArray.length;
@@ -62,6 +179,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         mergeSort(0, n - 1);
 
         System.out.println("Array ordenado:");
@@ -71,5 +189,125 @@ public class Main {
         }
 
         System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
+        n = numbersArray.length;
+
+        resetCounters();
+        networkMergeSort(0, n - 1);
+
+        System.out.println("Array ordenado (rede de ordenação nas folhas):");
+
+        for (int i = 0; i < numbersArray.length; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 12, Integer.MAX_VALUE, 8, 2, 14, 17, 6, 18, 10, Integer.MAX_VALUE, 15, 5, 13, 9, 1 };
+        n = numbersArray.length;
+
+        parallelMergeSort();
+
+        System.out.println("Array ordenado (paralelo):");
+
+        for (int i = 0; i < numbersArray.length; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+    }
+}
+
+/**
+ * Tarefa do parallelMergeSort: divide [from, to) em duas tarefas do ForkJoinPool
+ * enquanto o intervalo passa de PARALLEL_THRESHOLD e intercala as metades ao
+ * voltar. Abaixo do limiar, ordena em série alternando source e destination.
+ */
+class MergeSortTask extends RecursiveAction {
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+    static final int INSERTION_THRESHOLD = 32;
+
+    private final int[] source;
+    private final int[] destination;
+    private final int from;
+    private final int to;
+
+    public MergeSortTask(int[] source, int[] destination, int from, int to) {
+        this.source = source;
+        this.destination = destination;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= PARALLEL_THRESHOLD) {
+            sort(source, destination, from, to);
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+
+        invokeAll(new MergeSortTask(destination, source, from, middle),
+                new MergeSortTask(destination, source, middle, to));
+
+        merge(source, destination, from, middle, to);
+    }
+
+    // Ordena destination[from, to) usando source como rascunho. Os dois vetores
+    // precisam entrar com o mesmo conteúdo no intervalo e trocam de papel a cada nível.
+    public static void sort(int[] source, int[] destination, int from, int to) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(destination, from, to);
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+
+        sort(destination, source, from, middle);
+        sort(destination, source, middle, to);
+        merge(source, destination, from, middle, to);
+    }
+
+    public static void merge(int[] source, int[] destination, int from, int middle, int to) {
+        if (source[middle - 1] <= source[middle]) {
+            System.arraycopy(source, from, destination, from, to - from);
+            return;
+        }
+
+        int i = from, j = middle, k = from;
+
+        while (i < middle && j < to) {
+            if (source[i] <= source[j]) {
+                destination[k++] = source[i++];
+            } else {
+                destination[k++] = source[j++];
+            }
+        }
+
+        while (i < middle) {
+            destination[k++] = source[i++];
+        }
+
+        while (j < to) {
+            destination[k++] = source[j++];
+        }
+    }
+
+    public static void insertionSort(int[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int temp = array[i];
+            int j = i - 1;
+
+            while ((j >= from) && (array[j] > temp)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            array[j + 1] = temp;
+        }
     }
 }
@@ -1,3 +1,9 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * Código fonte - Implementação do Método Radix Sort
  *
@@ -11,6 +17,16 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    // Comparações (só as da busca do máximo) e movimentações de elementos dos
+    // radix sorts seriais na última ordenação; as tarefas paralelas não contam.
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static int getBiggestNumber() {
         int biggest = numbersArray[0];
 
@@ -20,6 +36,7 @@ public class Main {
             }
         }
 
+        comparisons += Math.max(0, n - 1);
         return biggest;
     }
 
@@ -44,6 +61,7 @@ public class Main {
             count[(numbersArray[i] / exp) % 10]--;
         }
 
+        moves += n;
         return sorted;
     }
 
@@ -55,6 +73,112 @@ public class Main {
         }
     }
 
+    public static void byteRadixSort() {
+        int[][] count = new int[4][256];
+
+        for (int i = 0; i < n; i++) {
+            int key = numbersArray[i] ^ Integer.MIN_VALUE;
+
+            count[0][key & 0xFF]++;
+            count[1][(key >>> 8) & 0xFF]++;
+            count[2][(key >>> 16) & 0xFF]++;
+            count[3][key >>> 24]++;
+        }
+
+        int[] source = numbersArray;
+        int[] buffer = new int[n];
+
+        for (int pass = 0; pass < 4; pass++) {
+            int shift = pass * 8;
+            int[] passCount = count[pass];
+
+            if (n == 0 || passCount[((source[0] ^ Integer.MIN_VALUE) >>> shift) & 0xFF] == n) {
+                continue;
+            }
+
+            int total = 0;
+
+            for (int i = 0; i < 256; i++) {
+                int temp = passCount[i];
+                passCount[i] = total;
+                total += temp;
+            }
+
+            for (int i = 0; i < n; i++) {
+                int digit = ((source[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+                buffer[passCount[digit]++] = source[i];
+            }
+
+            moves += n;
+
+            int[] temp = source;
+            source = buffer;
+            buffer = temp;
+        }
+
+        // Com um número ímpar de passadas o resultado ficou no buffer: copia de
+        // volta, para que quem guardou uma referência a numbersArray o veja ordenado.
+        if (source != numbersArray) {
+            System.arraycopy(source, 0, numbersArray, 0, n);
+            moves += n;
+        }
+    }
+
+    public static void parallelRadixSort() {
+        if (n <= RadixBucketTask.FORK_THRESHOLD) {
+            byteRadixSort();
+            return;
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int workers = Math.min(pool.getParallelism(), n / RadixBucketTask.FORK_THRESHOLD);
+        int[][] count = new int[workers][256];
+        int[] buffer = new int[n];
+        List<RadixSliceTask> slices = new ArrayList<>();
+
+        for (int w = 0; w < workers; w++) {
+            slices.add(new RadixSliceTask(numbersArray, buffer, sliceStart(w, workers), sliceStart(w + 1, workers), count[w], false));
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(slices)));
+
+        int[] bucketStart = new int[257];
+        int total = 0;
+
+        for (int b = 0; b < 256; b++) {
+            bucketStart[b] = total;
+
+            for (int w = 0; w < workers; w++) {
+                int temp = count[w][b];
+                count[w][b] = total;
+                total += temp;
+            }
+        }
+
+        bucketStart[256] = total;
+        slices.clear();
+
+        for (int w = 0; w < workers; w++) {
+            slices.add(new RadixSliceTask(numbersArray, buffer, sliceStart(w, workers), sliceStart(w + 1, workers), count[w], true));
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(slices)));
+
+        List<RadixBucketTask> buckets = new ArrayList<>();
+
+        for (int b = 0; b < 256; b++) {
+            if (bucketStart[b + 1] > bucketStart[b]) {
+                buckets.add(new RadixBucketTask(numbersArray, buffer, bucketStart[b], bucketStart[b + 1], 16, true));
+            }
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(buckets)));
+    }
+
+    private static int sliceStart(int worker, int workers) {
+        return (int) ((long) n * worker / workers);
+    }
+
     public static void main(String[] args) {
         numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
         n = numbersArray.length;
@@ -67,6 +191,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         radixSort();
 
         System.out.println("Array ordenado:");
@@ -76,5 +201,215 @@ public class Main {
         }
 
         System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[] { 12, -4, 8, 2, -14, 17, 6, Integer.MIN_VALUE, 10, 16, Integer.MAX_VALUE, 5, -13, 9 };
+        n = numbersArray.length;
+
+        resetCounters();
+        byteRadixSort();
+
+        System.out.println("Array ordenado (base 256):");
+
+        for (int i = 0; i < numbersArray.length; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        numbersArray = new int[1 << 20];
+        n = numbersArray.length;
+
+        for (int i = 0; i < n; i++) {
+            numbersArray[i] = (int) ((i * 2654435761L) ^ (i >>> 3));
+        }
+
+        parallelRadixSort();
+
+        boolean ordered = true;
+
+        for (int i = 1; i < n; i++) {
+            if (numbersArray[i - 1] > numbersArray[i]) {
+                ordered = false;
+            }
+        }
+
+        System.out.println("Array de " + n + " elementos ordenado (MSD paralelo): " + ordered);
+    }
+}
+
+/**
+ * Fatia do vetor na primeira passada do parallelRadixSort, pelo byte mais
+ * significativo: conta os dígitos da fatia (scatter falso) ou distribui os
+ * elementos a partir das posições calculadas em count (scatter verdadeiro).
+ */
+class RadixSliceTask extends RecursiveAction {
+    private final int[] source;
+    private final int[] destination;
+    private final int from;
+    private final int to;
+    private final int[] count;
+    private final boolean scatter;
+
+    public RadixSliceTask(int[] source, int[] destination, int from, int to, int[] count, boolean scatter) {
+        this.source = source;
+        this.destination = destination;
+        this.from = from;
+        this.to = to;
+        this.count = count;
+        this.scatter = scatter;
+    }
+
+    @Override
+    protected void compute() {
+        if (scatter) {
+            for (int i = from; i < to; i++) {
+                destination[count[RadixBucketTask.digit(source[i], 24)]++] = source[i];
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                count[RadixBucketTask.digit(source[i], 24)]++;
+            }
+        }
+    }
+}
+
+/**
+ * Ordena um balde do parallelRadixSort pelos bytes seguintes: MSD recursivo,
+ * com tarefas filhas nos baldes grandes, LSD nos médios e inserção nos pequenos.
+ */
+class RadixBucketTask extends RecursiveAction {
+    static final int INSERTION_THRESHOLD = 64;
+    static final int LSD_THRESHOLD = 1 << 12;
+    static final int FORK_THRESHOLD = 1 << 14;
+
+    private final int[] array;
+    private final int[] buffer;
+    private final int from;
+    private final int to;
+    private final int shift;
+    private final boolean inBuffer;
+
+    // Os elementos de [from, to) estão em buffer (inBuffer) ou em array, e terminam ordenados em array.
+    public RadixBucketTask(int[] array, int[] buffer, int from, int to, int shift, boolean inBuffer) {
+        this.array = array;
+        this.buffer = buffer;
+        this.from = from;
+        this.to = to;
+        this.shift = shift;
+        this.inBuffer = inBuffer;
+    }
+
+    public static int digit(int value, int shift) {
+        return ((value ^ Integer.MIN_VALUE) >>> shift) & 0xFF;
+    }
+
+    @Override
+    protected void compute() {
+        if (inBuffer) {
+            System.arraycopy(buffer, from, array, from, to - from);
+        }
+
+        sort(array, buffer, from, to, shift, true);
+    }
+
+    // Ordena array[from, to) pelo byte em shift e pelos seguintes, usando buffer como rascunho.
+    public static void sort(int[] array, int[] buffer, int from, int to, int shift, boolean fork) {
+        int length = to - from;
+
+        if (length <= INSERTION_THRESHOLD) {
+            insertionSort(array, from, to);
+            return;
+        }
+
+        if (length <= LSD_THRESHOLD) {
+            lsdSort(array, buffer, from, to, shift);
+            return;
+        }
+
+        int[] count = new int[257];
+
+        for (int i = from; i < to; i++) {
+            count[digit(array[i], shift) + 1]++;
+        }
+
+        for (int i = 0; i < 256; i++) {
+            count[i + 1] += count[i];
+        }
+
+        int[] start = count.clone();
+
+        for (int i = from; i < to; i++) {
+            buffer[from + count[digit(array[i], shift)]++] = array[i];
+        }
+
+        System.arraycopy(buffer, from, array, from, length);
+
+        if (shift == 0) {
+            return;
+        }
+
+        List<RadixBucketTask> tasks = new ArrayList<>();
+
+        for (int b = 0; b < 256; b++) {
+            int bucketFrom = from + start[b];
+            int bucketTo = from + start[b + 1];
+
+            if (fork && bucketTo - bucketFrom > FORK_THRESHOLD) {
+                tasks.add(new RadixBucketTask(array, buffer, bucketFrom, bucketTo, shift - 8, false));
+            } else if (bucketTo - bucketFrom > 1) {
+                sort(array, buffer, bucketFrom, bucketTo, shift - 8, false);
+            }
+        }
+
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    public static void lsdSort(int[] array, int[] buffer, int from, int to, int highestShift) {
+        int[] source = array;
+        int[] destination = buffer;
+
+        for (int shift = 0; shift <= highestShift; shift += 8) {
+            int[] count = new int[257];
+
+            for (int i = from; i < to; i++) {
+                count[digit(source[i], shift) + 1]++;
+            }
+
+            if (count[digit(source[from], shift) + 1] == to - from) {
+                continue;
+            }
+
+            for (int i = 0; i < 256; i++) {
+                count[i + 1] += count[i];
+            }
+
+            for (int i = from; i < to; i++) {
+                destination[from + count[digit(source[i], shift)]++] = source[i];
+            }
+
+            int[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+
+        if (source != array) {
+            System.arraycopy(source, from, array, from, to - from);
+        }
+    }
+
+    public static void insertionSort(int[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int temp = array[i];
+            int j = i - 1;
+
+            while ((j >= from) && (array[j] > temp)) {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            array[j + 1] = temp;
+        }
     }
 }
@@ -11,17 +11,32 @@ public class Main {
     static int[] numbersArray;
     static int n;
 
+    // Comparações e movimentações (três por troca) da última ordenação, tanto
+    // do heapSort quanto do bottomUpHeapSort.
+    static long comparisons;
+    static long moves;
+
+    public static void resetCounters() {
+        comparisons = 0;
+        moves = 0;
+    }
+
     public static void swap(int i, int j) {
         int temp = numbersArray[i];
         numbersArray[i] = numbersArray[j];
         numbersArray[j] = temp;
+        moves += 3;
     }
 
     public static int getBiggerSon(int i, int length) {
         int son = 2 * i;
 
-        if (son + 1 < length && numbersArray[son] < numbersArray[son + 1]) {
-            son++;
+        if (son + 1 < length) {
+            comparisons++;
+
+            if (numbersArray[son] < numbersArray[son + 1]) {
+                son++;
+            }
         }
 
         return son < length ? son : -1;
@@ -41,6 +56,8 @@ public class Main {
         while (hasSon(i, length)) {
             int son = getBiggerSon(i, length);
 
+            comparisons += son != -1 ? 1 : 0;
+
             if (son != -1 && numbersArray[i] < numbersArray[son]) {
                 swap(i, son);
                 i = son;
@@ -61,6 +78,75 @@ public class Main {
         }
     }
 
+    // Heap d-ário com base 0: os filhos de i ficam em d * i + 1 ... d * i + d.
+    // A descida de Floyd leva o buraco da raiz até uma folha seguindo sempre o maior
+    // filho, sem comparar com o elemento que está sendo reinserido, e só então
+    // sobe com ele até a posição correta.
+    public static void siftDownBottomUp(int[] array, int i, int length, int d) {
+        int temp = array[i];
+        int hole = i;
+        int son;
+
+        while ((son = d * hole + 1) < length) {
+            int last = Math.min(son + d, length);
+            int bigger = son;
+
+            for (int k = son + 1; k < last; k++) {
+                if (array[k] > array[bigger]) {
+                    bigger = k;
+                }
+            }
+
+            comparisons += last - son - 1;
+            moves++;
+            array[hole] = array[bigger];
+            hole = bigger;
+        }
+
+        while (hole > i) {
+            int father = (hole - 1) / d;
+
+            comparisons++;
+
+            if (array[father] >= temp) {
+                break;
+            }
+
+            moves++;
+            array[hole] = array[father];
+            hole = father;
+        }
+
+        moves += 2;
+        array[hole] = temp;
+    }
+
+    public static void buildHeap(int[] array, int length, int d) {
+        for (int i = (length - 2) / d; i >= 0; i--) {
+            siftDownBottomUp(array, i, length, d);
+        }
+    }
+
+    public static void bottomUpHeapSort(int[] array, int length, int d) {
+        if (d != 2 && d != 4 && d != 8) {
+            throw new Error("A aridade do heap deve ser 2, 4 ou 8.");
+        }
+
+        if (length < 2) {
+            return;
+        }
+
+        buildHeap(array, length, d);
+
+        for (int last = length - 1; last > 0; last--) {
+            int temp = array[0];
+            array[0] = array[last];
+            array[last] = temp;
+            moves += 3;
+            siftDownBottomUp(array, 0, last, d);
+        }
+    }
+
     public static void main(String[] args) {
         numbersArray = new int[] { 0, 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
         n = numbersArray.length;
@@ -73,6 +159,7 @@ public class Main {
 
         System.out.println();
 
+        resetCounters();
         heapSort();
 
         System.out.println("Array ordenado:");
@@ -82,5 +169,22 @@ public class Main {
         }
 
         System.out.println();
+        System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+
+        for (int d = 2; d <= 8; d *= 2) {
+            int[] array = { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
+
+            resetCounters();
+            bottomUpHeapSort(array, array.length, d);
+
+            System.out.println("Array ordenado (heap " + d + "-ário, base 0):");
+
+            for (int i = 0; i < array.length; i++) {
+                System.out.print(array[i] + " ");
+            }
+
+            System.out.println();
+            System.out.println("Comparações: " + comparisons + ", movimentações: " + moves);
+        }
     }
 }
@@ -0,0 +1,773 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Código fonte - Benchmark dos Métodos de Ordenação
+ *
+ * Compila cada Main.java de source/03-primary-memory-sorting e do lab-06 em
+ * um class loader próprio e mede todos os métodos com aquecimento, várias
+ * iterações e forks em JVMs separadas, no estilo do JMH. O resultado é
+ * gravado em JSON para comparar versões. As médias de cada grupo usam só os
+ * forks que terminaram sem erro; os que falharam, ou que morreram antes de
+ * imprimir a medição, são contados em failedForks e listados em errors.
+ *
+ * Uso: javac Main.java && java Main [--root ../../..] [--sizes 100,10000,1000000]
+ *      [--shapes ordered,random,...] [--algorithms quick-sort,...] [--warmup 3]
+ *      [--iterations 5] [--forks 2] [--iteration-ms 500] [--max-quadratic 100000]
+ *      [--output benchmark-results.json]
+ *
+ * @author Artur Bomtempo Colen
+ * @algorithm Sorting
+ * @type Benchmark
+ * @language Java
+ * @version 1.0
+ */
+public class Main {
+    static final List<SortAlgorithm> ALGORITHMS = new ArrayList<>();
+    static final String[] SHAPES = { "ordered", "random", "almost-sorted", "reverse", "few-unique", "sawtooth" };
+    static final String SORTING = "source/03-primary-memory-sorting/";
+    static final String LAB_06 = "exercises/labs/lab-06/01-quicksort-variations";
+    // Estratégia de pivô do lab-06 (Main.MEDIAN_OF_THREE) para as variantes que a recebem.
+    static final int MEDIAN_OF_THREE = 3;
+
+    static {
+        register("selection-sort", SORTING + "01-selection-sort", "selectionSort", SortAlgorithm.STATIC, true);
+        register("insertion-sort", SORTING + "02-insertion-sort", "insertionSort", SortAlgorithm.STATIC, true);
+        register("bubble-sort", SORTING + "03-bubble-sort", "bubbleSort", SortAlgorithm.STATIC, true);
+        register("quick-sort", SORTING + "04-quick-sort", "quickSort", SortAlgorithm.STATIC_RANGE, false);
+        register("intro-sort", SORTING + "04-quick-sort", "introSort", SortAlgorithm.STATIC, false);
+        register("network-intro-sort", SORTING + "04-quick-sort", "networkIntroSort", SortAlgorithm.STATIC, false);
+        register("shell-sort", SORTING + "05-shell-sort", "shellSort", SortAlgorithm.STATIC, false);
+        registerGaps("ciura-shell-sort", "ciuraGaps", false);
+        registerGaps("tokuda-shell-sort", "tokudaGaps", false);
+        registerGaps("sedgewick-shell-sort", "sedgewickGaps", false);
+        registerGaps("parallel-ciura-shell-sort", "ciuraGaps", true);
+        register("counting-sort", SORTING + "06-counting-sort", "countingSort", SortAlgorithm.STATIC_RESULT, false);
+        register("range-counting-sort", SORTING + "06-counting-sort", "rangeCountingSort", SortAlgorithm.STATIC_RESULT, false);
+        register("in-place-counting-sort", SORTING + "06-counting-sort", "inPlaceCountingSort", SortAlgorithm.STATIC, false);
+        register("merge-sort", SORTING + "07-merge-sort", "mergeSort", SortAlgorithm.STATIC_RANGE, false);
+        register("network-merge-sort", SORTING + "07-merge-sort", "networkMergeSort", SortAlgorithm.STATIC_RANGE, false);
+        register("parallel-merge-sort", SORTING + "07-merge-sort", "parallelMergeSort", SortAlgorithm.STATIC, false);
+        register("radix-sort", SORTING + "08-radix-sort", "radixSort", SortAlgorithm.STATIC, false);
+        register("byte-radix-sort", SORTING + "08-radix-sort", "byteRadixSort", SortAlgorithm.STATIC, false);
+        register("parallel-radix-sort", SORTING + "08-radix-sort", "parallelRadixSort", SortAlgorithm.STATIC, false);
+        register("heap-sort", SORTING + "09-heap-sort", "heapSort", SortAlgorithm.STATIC_HEAP, false);
+
+        for (int d = 2; d <= 8; d *= 2) {
+            register("bottom-up-heap-sort-" + d, SORTING + "09-heap-sort", "bottomUpHeapSort",
+                    SortAlgorithm.ARRAY_LENGTH, false, d);
+        }
+
+        register("natural-merge-sort", SORTING + "11-natural-merge-sort", "naturalMergeSort", SortAlgorithm.STATIC, false);
+        register("quick-sort-first-pivot", LAB_06, "QuickSortFirstPivot", SortAlgorithm.ARRAY_RANGE, false);
+        register("quick-sort-last-pivot", LAB_06, "QuickSortLastPivot", SortAlgorithm.ARRAY_RANGE, false);
+        register("quick-sort-random-pivot", LAB_06, "QuickSortRandomPivot", SortAlgorithm.ARRAY_RANGE, false);
+        register("quick-sort-median-of-three", LAB_06, "QuickSortMedianOfThree", SortAlgorithm.ARRAY_RANGE, false);
+        register("quick-sort-three-way", LAB_06, "QuickSortThreeWay", SortAlgorithm.ARRAY_RANGE, false, MEDIAN_OF_THREE);
+        register("quick-sort-iterative", LAB_06, "QuickSortIterative", SortAlgorithm.ARRAY_RANGE, false, MEDIAN_OF_THREE);
+        register("quick-sort-three-way-iterative", LAB_06, "QuickSortThreeWayIterative", SortAlgorithm.ARRAY_RANGE,
+                false, MEDIAN_OF_THREE);
+        register("quick-sort-task-serial", LAB_06, "QuickSortTask.sort", SortAlgorithm.ARRAY_RANGE, false);
+        register("parallel-quick-sort", LAB_06, "parallelQuickSort", SortAlgorithm.ARRAY, false,
+                ForkJoinPool.commonPool());
+    }
+
+    static Path root = Paths.get("../../..");
+    static Path classes;
+    static int[] sizes = { 100, 10000, 1000000 };
+    static String[] shapes = SHAPES;
+    static String[] algorithms;
+    static int warmup = 3;
+    static int iterations = 5;
+    static int forks = 2;
+    static long iterationNs = 500_000_000L;
+    static int maxQuadratic = 100000;
+    static String output = "benchmark-results.json";
+    static long allocationOverhead;
+
+    public static void register(String name, String directory, String method, int kind, boolean quadratic,
+            Object... arguments) {
+        ALGORITHMS.add(new SortAlgorithm(name, directory, method, kind, quadratic, null, arguments));
+    }
+
+    // shellSort(int[] gaps, boolean parallel) de 05-shell-sort com a sequência de gaps.
+    public static void registerGaps(String name, String gaps, boolean parallel) {
+        ALGORITHMS.add(new SortAlgorithm(name, SORTING + "05-shell-sort", "shellSort", SortAlgorithm.STATIC_GAPS,
+                false, gaps, parallel));
+    }
+
+    public static SortAlgorithm findAlgorithm(String name) {
+        for (SortAlgorithm algorithm : ALGORITHMS) {
+            if (algorithm.name.equals(name)) {
+                return algorithm;
+            }
+        }
+
+        throw new Error("Algoritmo desconhecido: " + name);
+    }
+
+    public static int[] generate(String shape, int size) {
+        Random rand = new Random(42);
+        int[] array = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            switch (shape) {
+                case "ordered":
+                    array[i] = i;
+                    break;
+                case "random":
+                    array[i] = rand.nextInt(size);
+                    break;
+                case "almost-sorted":
+                    array[i] = (i % 10 == 0) ? rand.nextInt(size) : i;
+                    break;
+                case "reverse":
+                    array[i] = size - i;
+                    break;
+                case "few-unique":
+                    array[i] = rand.nextInt(16);
+                    break;
+                case "sawtooth":
+                    array[i] = i % Math.max(1, size / 8);
+                    break;
+                default:
+                    throw new Error("Formato de entrada desconhecido: " + shape);
+            }
+        }
+
+        return array;
+    }
+
+    public static boolean isSorted(int[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            if (array[i - 1] > array[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+
+        return total;
+    }
+
+    // Bytes alocados pela própria medição entre duas chamadas de allocatedBytes().
+    public static long calibrateAllocation() {
+        long overhead = Long.MAX_VALUE;
+
+        for (int i = 0; i < 1000; i++) {
+            long bytes = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - bytes);
+        }
+
+        return overhead;
+    }
+
+    public static long[] gcTotals() {
+        long count = 0, time = 0;
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            time += Math.max(0, gc.getCollectionTime());
+        }
+
+        return new long[] { count, time };
+    }
+
+    public static BenchmarkResult measure(SortAlgorithm algorithm, String shape, int size, int fork) {
+        BenchmarkResult result = new BenchmarkResult();
+        result.algorithm = algorithm.name;
+        result.shape = shape;
+        result.size = size;
+        result.fork = fork;
+
+        int offset = algorithm.kind == SortAlgorithm.STATIC_HEAP ? 1 : 0;
+        int[] input = new int[size + offset];
+        System.arraycopy(generate(shape, size), 0, input, offset, size);
+        int[] work = new int[input.length];
+
+        try {
+            long totalOps = 0, totalNs = 0, totalBytes = 0;
+            long[] gcBefore = null;
+            boolean sorted = false, checked = false;
+
+            for (int it = 0; it < warmup + iterations; it++) {
+                boolean measured = it >= warmup;
+
+                if (measured && gcBefore == null) {
+                    gcBefore = gcTotals();
+                }
+
+                long deadline = System.nanoTime() + iterationNs;
+
+                do {
+                    System.arraycopy(input, 0, work, 0, input.length);
+                    algorithm.resetCounters();
+
+                    long bytes = allocatedBytes();
+                    long start = System.nanoTime();
+                    int[] sortedArray = algorithm.run(work);
+                    long elapsed = System.nanoTime() - start;
+                    bytes = allocatedBytes() - bytes;
+
+                    if (!checked) {
+                        sorted = isSorted(sortedArray, offset, sortedArray.length);
+                        checked = true;
+                    }
+
+                    if (measured) {
+                        totalOps++;
+                        totalNs += elapsed;
+                        totalBytes += Math.max(0, bytes - allocationOverhead);
+                    }
+                } while (System.nanoTime() < deadline);
+            }
+
+            long[] gcAfter = gcTotals();
+
+            result.operations = totalOps;
+            result.averageTimeNs = (double) totalNs / totalOps;
+            result.throughput = totalOps * 1e9 / totalNs;
+            result.allocatedBytesPerOp = (double) totalBytes / totalOps;
+            result.gcCount = gcAfter[0] - gcBefore[0];
+            result.gcTimeMs = gcAfter[1] - gcBefore[1];
+            result.sorted = sorted;
+        } catch (Throwable e) {
+            result.error = e.getClass().getSimpleName();
+        }
+
+        return result;
+    }
+
+    public static void compile(SortAlgorithm algorithm) throws IOException {
+        Path target = classes.resolve(algorithm.directory);
+
+        if (Files.exists(target.resolve("Main.class"))) {
+            return;
+        }
+
+        Files.createDirectories(target);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int status = compiler.run(null, null, null, "-encoding", "UTF-8", "-nowarn", "-d", target.toString(),
+                root.resolve(algorithm.directory).resolve("Main.java").toString());
+
+        if (status != 0) {
+            throw new Error("Falha ao compilar " + algorithm.directory);
+        }
+    }
+
+    public static boolean skipped(SortAlgorithm algorithm, int size) {
+        return algorithm.quadratic && size > maxQuadratic;
+    }
+
+    public static void runWorker(String name, int fork) throws Exception {
+        SortAlgorithm algorithm = findAlgorithm(name);
+        algorithm.load(classes.resolve(algorithm.directory));
+        allocationOverhead = calibrateAllocation();
+
+        for (String shape : shapes) {
+            for (int size : sizes) {
+                if (skipped(algorithm, size)) {
+                    continue;
+                }
+
+                System.out.println(measure(algorithm, shape, size, fork).toLine());
+                System.out.flush();
+            }
+        }
+    }
+
+    public static List<BenchmarkResult> runFork(SortAlgorithm algorithm, int fork, String[] args) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("Main");
+        command.addAll(Arrays.asList(args));
+        command.add("--classes");
+        command.add(classes.toString());
+        command.add("--worker");
+        command.add(algorithm.name);
+        command.add("--fork");
+        command.add(String.valueOf(fork));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("RESULT\t")) {
+                    BenchmarkResult result = BenchmarkResult.fromLine(line);
+                    results.add(result);
+                    System.out.printf(Locale.ROOT, "%-28s %-14s %10d  fork %d  %14.1f ns/op  %12.1f B/op  %3d GCs %s%n",
+                            result.algorithm, result.shape, result.size, result.fork, result.averageTimeNs,
+                            result.allocatedBytesPerOp, result.gcCount,
+                            result.error != null ? result.error : (result.sorted ? "" : "NÃO ORDENADO"));
+                } else {
+                    System.out.println(line);
+                }
+            }
+        }
+
+        int status = process.waitFor();
+
+        // Um fork que morreu (falha ao carregar, OutOfMemoryError, estouro da
+        // pilha...) não imprime as medições que faltavam; elas entram como erro
+        // para que a média do grupo use só os forks que terminaram.
+        if (status != 0) {
+            System.out.println("Fork " + fork + " de " + algorithm.name + " terminou com código " + status);
+
+            for (String shape : shapes) {
+                for (int size : sizes) {
+                    if (skipped(algorithm, size) || reported(results, shape, size)) {
+                        continue;
+                    }
+
+                    BenchmarkResult result = new BenchmarkResult();
+                    result.algorithm = algorithm.name;
+                    result.shape = shape;
+                    result.size = size;
+                    result.fork = fork;
+                    result.error = "Fork terminou com código " + status;
+                    results.add(result);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    public static boolean reported(List<BenchmarkResult> results, String shape, int size) {
+        for (BenchmarkResult result : results) {
+            if (result.shape.equals(shape) && result.size == size) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // Sem nenhum fork bem-sucedido não há média: o campo fica null.
+    public static String number(int succeeded, double value, String format) {
+        return succeeded == 0 ? "null" : String.format(Locale.ROOT, format, value);
+    }
+
+    public static String quote(String value) {
+        return value == null ? "null" : "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    // Médias só sobre os forks que terminaram sem erro; os que falharam são
+    // contados em failedForks e seus erros listados em errors.
+    public static void writeJson(List<BenchmarkResult> results) throws IOException {
+        Map<String, List<BenchmarkResult>> groups = new LinkedHashMap<>();
+
+        for (BenchmarkResult result : results) {
+            groups.computeIfAbsent(result.algorithm + "/" + result.shape + "/" + result.size, key -> new ArrayList<>())
+                    .add(result);
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(output)))) {
+            out.println("{");
+            out.printf(Locale.ROOT, "  \"jvm\": %s,%n", quote(System.getProperty("java.vm.name") + " " + System.getProperty("java.version")));
+            out.printf(Locale.ROOT, "  \"processors\": %d,%n", Runtime.getRuntime().availableProcessors());
+            out.printf(Locale.ROOT, "  \"warmupIterations\": %d,%n", warmup);
+            out.printf(Locale.ROOT, "  \"measurementIterations\": %d,%n", iterations);
+            out.printf(Locale.ROOT, "  \"forks\": %d,%n", forks);
+            out.printf(Locale.ROOT, "  \"iterationMs\": %d,%n", iterationNs / 1_000_000);
+            out.println("  \"results\": [");
+
+            int g = 0;
+
+            for (List<BenchmarkResult> group : groups.values()) {
+                BenchmarkResult first = group.get(0);
+                double throughput = 0, averageTime = 0, bytes = 0;
+                long operations = 0, gcCount = 0, gcTime = 0;
+                int succeeded = 0;
+                boolean sorted = true;
+                StringBuilder errors = new StringBuilder();
+                StringBuilder forkScores = new StringBuilder();
+
+                for (BenchmarkResult result : group) {
+                    if (result.error == null) {
+                        succeeded++;
+                    }
+                }
+
+                for (BenchmarkResult result : group) {
+                    if (result.error != null) {
+                        errors.append(errors.length() == 0 ? "" : ", ").append(quote(result.error));
+                        continue;
+                    }
+
+                    throughput += result.throughput / succeeded;
+                    averageTime += result.averageTimeNs / succeeded;
+                    bytes += result.allocatedBytesPerOp / succeeded;
+                    operations += result.operations;
+                    gcCount += result.gcCount;
+                    gcTime += result.gcTimeMs;
+                    sorted &= result.sorted;
+
+                    forkScores.append(forkScores.length() == 0 ? "" : ", ")
+                            .append(String.format(Locale.ROOT, "%.1f", result.averageTimeNs));
+                }
+
+                out.println("    {");
+                out.printf(Locale.ROOT, "      \"algorithm\": %s,%n", quote(first.algorithm));
+                out.printf(Locale.ROOT, "      \"shape\": %s,%n", quote(first.shape));
+                out.printf(Locale.ROOT, "      \"size\": %d,%n", first.size);
+                out.printf(Locale.ROOT, "      \"succeededForks\": %d,%n", succeeded);
+                out.printf(Locale.ROOT, "      \"failedForks\": %d,%n", group.size() - succeeded);
+                out.printf(Locale.ROOT, "      \"operations\": %d,%n", operations);
+                out.printf(Locale.ROOT, "      \"averageTimeNs\": %s,%n", number(succeeded, averageTime, "%.1f"));
+                out.printf(Locale.ROOT, "      \"throughputOpsPerSecond\": %s,%n", number(succeeded, throughput, "%.3f"));
+                out.printf(Locale.ROOT, "      \"forkAverageTimeNs\": [%s],%n", forkScores);
+                out.printf(Locale.ROOT, "      \"allocatedBytesPerOp\": %s,%n", number(succeeded, bytes, "%.1f"));
+                out.printf(Locale.ROOT, "      \"gcCount\": %d,%n", gcCount);
+                out.printf(Locale.ROOT, "      \"gcTimeMs\": %d,%n", gcTime);
+                out.printf(Locale.ROOT, "      \"sorted\": %s,%n", succeeded > 0 && sorted);
+                out.printf(Locale.ROOT, "      \"errors\": [%s]%n", errors);
+                out.println(++g < groups.size() ? "    }," : "    }");
+            }
+
+            out.println("  ]");
+            out.println("}");
+        }
+    }
+
+    public static int[] parseSizes(String value) {
+        String[] parts = value.split(",");
+        int[] result = new int[parts.length];
+
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = (int) Double.parseDouble(parts[i]);
+        }
+
+        return result;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String worker = null;
+        int fork = 0;
+        List<String> forwarded = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new Error("Falta o valor da opção " + args[i]);
+            }
+
+            String value = args[i + 1];
+
+            switch (args[i]) {
+                case "--root": root = Paths.get(value); break;
+                case "--classes": classes = Paths.get(value); break;
+                case "--sizes": sizes = parseSizes(value); break;
+                case "--shapes": shapes = value.split(","); break;
+                case "--algorithms": algorithms = value.split(","); break;
+                case "--warmup": warmup = Integer.parseInt(value); break;
+                case "--iterations": iterations = Integer.parseInt(value); break;
+                case "--forks": forks = Integer.parseInt(value); break;
+                case "--iteration-ms": iterationNs = Long.parseLong(value) * 1_000_000L; break;
+                case "--max-quadratic": maxQuadratic = Integer.parseInt(value); break;
+                case "--output": output = value; break;
+                case "--worker": worker = value; break;
+                case "--fork": fork = Integer.parseInt(value); break;
+                default: throw new Error("Opção desconhecida: " + args[i]);
+            }
+
+            if (!args[i].equals("--classes") && !args[i].equals("--worker") && !args[i].equals("--fork")) {
+                forwarded.add(args[i]);
+                forwarded.add(value);
+            }
+        }
+
+        if (worker != null) {
+            runWorker(worker, fork);
+            return;
+        }
+
+        classes = Files.createTempDirectory("sorting-benchmark");
+
+        List<SortAlgorithm> selected = new ArrayList<>();
+
+        if (algorithms == null) {
+            selected.addAll(ALGORITHMS);
+        } else {
+            for (String name : algorithms) {
+                selected.add(findAlgorithm(name));
+            }
+        }
+
+        List<BenchmarkResult> results = new ArrayList<>();
+
+        for (SortAlgorithm algorithm : selected) {
+            compile(algorithm);
+
+            for (int f = 0; f < forks; f++) {
+                results.addAll(runFork(algorithm, f, forwarded.toArray(new String[0])));
+            }
+        }
+
+        writeJson(results);
+
+        int failed = 0;
+
+        for (BenchmarkResult result : results) {
+            if (result.error != null) {
+                failed++;
+            }
+        }
+
+        if (failed > 0) {
+            System.out.println(failed + " de " + results.size() + " medições falharam e ficaram fora das médias");
+        }
+
+        System.out.println("Resultados gravados em " + output);
+    }
+}
+
+/**
+ * Um método de ordenação registrado em Main: diretório, nome do método e forma
+ * da chamada (STATIC, ARRAY_RANGE, ...).
+ */
+class SortAlgorithm {
+    static final int STATIC = 0;
+    static final int STATIC_RANGE = 1;
+    static final int STATIC_RESULT = 2;
+    static final int STATIC_HEAP = 3;
+    static final int ARRAY_RANGE = 4;
+    // method(int[] array, int length, ...), como o bottomUpHeapSort de 09-heap-sort.
+    static final int ARRAY_LENGTH = 5;
+    // method(int[] array, ...), como o parallelQuickSort do lab-06.
+    static final int ARRAY = 6;
+    // method(int[] gaps, ...) sobre numbersArray, com os incrementos devolvidos
+    // pelo método estático nomeado em gaps, calculados para o n de cada entrada.
+    static final int STATIC_GAPS = 7;
+
+    final String name;
+    final String directory;
+    final String method;
+    final int kind;
+    final boolean quadratic;
+    final String gaps;
+    // Valores fixos dos últimos parâmetros de method (estratégia de pivô,
+    // aridade do heap, pool...), ligados com MethodHandles.insertArguments.
+    final Object[] arguments;
+
+    private MethodHandle sort;
+    private MethodHandle resetCounters;
+    private Field numbersArray;
+    private Field n;
+
+    public SortAlgorithm(String name, String directory, String method, int kind, boolean quadratic, String gaps,
+            Object... arguments) {
+        this.name = name;
+        this.directory = directory;
+        this.method = method;
+        this.kind = kind;
+        this.quadratic = quadratic;
+        this.gaps = gaps;
+        this.arguments = arguments;
+    }
+
+    // Tipo do parâmetro de um argumento fixo: os int e boolean chegam
+    // encaixotados e os objetos entram com a própria classe.
+    public static Class<?> parameterType(Object argument) {
+        if (argument instanceof Integer) {
+            return int.class;
+        }
+
+        if (argument instanceof Boolean) {
+            return boolean.class;
+        }
+
+        return argument.getClass();
+    }
+
+    // method é o nome de um método estático de Main ou Classe.metodo para as
+    // classes auxiliares do programa, que não são públicas; por isso a busca é
+    // por reflexão com setAccessible, como a dos campos.
+    public MethodHandle find(ClassLoader loader, String method, Class<?>... leading) throws Exception {
+        int dot = method.lastIndexOf('.');
+        Class<?> owner = loader.loadClass(dot < 0 ? "Main" : method.substring(0, dot));
+        Class<?>[] parameters = Arrays.copyOf(leading, leading.length + arguments.length);
+
+        for (int i = 0; i < arguments.length; i++) {
+            parameters[leading.length + i] = parameterType(arguments[i]);
+        }
+
+        Method target = owner.getDeclaredMethod(method.substring(dot + 1), parameters);
+        target.setAccessible(true);
+
+        return MethodHandles.insertArguments(MethodHandles.lookup().unreflect(target), leading.length, arguments);
+    }
+
+    public void load(Path classes) throws Exception {
+        URLClassLoader loader = new URLClassLoader(new URL[] { classes.toUri().toURL() },
+                ClassLoader.getPlatformClassLoader());
+        Class<?> mainClass = loader.loadClass("Main");
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+        try {
+            resetCounters = lookup.findStatic(mainClass, "resetCounters", MethodType.methodType(void.class));
+        } catch (NoSuchMethodException e) {
+            resetCounters = null;
+        }
+
+        if (kind == ARRAY_RANGE) {
+            sort = find(loader, method, int[].class, int.class, int.class);
+            return;
+        }
+
+        if (kind == ARRAY_LENGTH) {
+            sort = find(loader, method, int[].class, int.class);
+            return;
+        }
+
+        if (kind == ARRAY) {
+            sort = find(loader, method, int[].class);
+            return;
+        }
+
+        numbersArray = mainClass.getDeclaredField("numbersArray");
+        numbersArray.setAccessible(true);
+        n = mainClass.getDeclaredField("n");
+        n.setAccessible(true);
+
+        if (kind == STATIC_RANGE) {
+            sort = find(loader, method, int.class, int.class);
+        } else if (kind == STATIC_RESULT) {
+            sort = find(loader, method);
+        } else if (kind == STATIC_GAPS) {
+            // Os incrementos são calculados dentro da chamada medida, depois de n
+            // ser atualizado, como o shellSort() calcula os seus.
+            MethodHandle sequence = lookup.findStatic(mainClass, gaps, MethodType.methodType(int[].class));
+            sort = MethodHandles.foldArguments(find(loader, method, int[].class), sequence);
+        } else {
+            sort = find(loader, method);
+        }
+    }
+
+    // Zera os contadores do programa, se ele tiver um resetCounters() estático;
+    // sem isso os contadores acumulariam todas as execuções do fork.
+    public void resetCounters() throws Throwable {
+        if (resetCounters != null) {
+            resetCounters.invokeExact();
+        }
+    }
+
+    // Ordena work e devolve o vetor onde o resultado ficou; para STATIC_HEAP a
+    // posição 0 de work é reservada, como em 09-heap-sort.
+    public int[] run(int[] work) throws Throwable {
+        if (kind == ARRAY_RANGE) {
+            sort.invokeExact(work, 0, work.length - 1);
+            return work;
+        }
+
+        if (kind == ARRAY_LENGTH) {
+            sort.invokeExact(work, work.length);
+            return work;
+        }
+
+        if (kind == ARRAY) {
+            sort.invokeExact(work);
+            return work;
+        }
+
+        numbersArray.set(null, work);
+        n.setInt(null, work.length);
+
+        if (kind == STATIC_RANGE) {
+            sort.invokeExact(0, work.length - 1);
+        } else if (kind == STATIC_RESULT) {
+            return (int[]) sort.invokeExact();
+        } else {
+            sort.invokeExact();
+        }
+
+        return (int[]) numbersArray.get(null);
+    }
+}
+
+/**
+ * Medição de um fork para um par (algoritmo, forma, tamanho), trocada entre o
+ * processo filho e o pai como uma linha RESULT separada por tabulações.
+ */
+class BenchmarkResult {
+    String algorithm;
+    String shape;
+    int size;
+    int fork;
+    long operations;
+    double averageTimeNs;
+    double throughput;
+    double allocatedBytesPerOp;
+    long gcCount;
+    long gcTimeMs;
+    boolean sorted;
+    String error;
+
+    public String toLine() {
+        return String.join("\t", "RESULT", algorithm, shape, String.valueOf(size), String.valueOf(fork),
+                String.valueOf(operations), String.valueOf(averageTimeNs), String.valueOf(throughput),
+                String.valueOf(allocatedBytesPerOp), String.valueOf(gcCount), String.valueOf(gcTimeMs),
+                String.valueOf(sorted), error == null ? "" : error);
+    }
+
+    public static BenchmarkResult fromLine(String line) {
+        String[] fields = line.split("\t", -1);
+        BenchmarkResult result = new BenchmarkResult();
+
+        result.algorithm = fields[1];
+        result.shape = fields[2];
+        result.size = Integer.parseInt(fields[3]);
+        result.fork = Integer.parseInt(fields[4]);
+        result.operations = Long.parseLong(fields[5]);
+        result.averageTimeNs = Double.parseDouble(fields[6]);
+        result.throughput = Double.parseDouble(fields[7]);
+        result.allocatedBytesPerOp = Double.parseDouble(fields[8]);
+        result.gcCount = Long.parseLong(fields[9]);
+        result.gcTimeMs = Long.parseLong(fields[10]);
+        result.sorted = Boolean.parseBoolean(fields[11]);
+        result.error = fields[12].isEmpty() ? null : fields[12];
+
+        return result;
+    }
+}
@@ -0,0 +1,299 @@
+/**
+ * Código fonte - Implementação do Método Merge Sort Natural (adaptativo)
+ *
+ * Em vez de dividir o array ao meio como o 07-merge-sort, aproveita as
+ * sequências que já estão ordenadas: cada trecho crescente (ou estritamente
+ * decrescente, que é invertido) vira uma corrida, e corridas curtas são
+ * completadas com inserção até MIN_RUN elementos. As corridas entram em uma
+ * pilha e são intercaladas com o interleave do 07-merge-sort, acrescido de
+ * galopes (busca exponencial). Em arrays quase ordenados o custo fica próximo
+ * de linear.
+ *
+ * @author Artur Bomtempo Colen
+ * @algorithm Sorting
+ * @type Natural Merge Sort
+ * @language Java
+ * @version 1.0
+ */
+public class Main {
+    static int[] numbersArray;
+    static int n;
+
+    static final int MIN_RUN = 32;
+    static final int MIN_GALLOP = 7;
+
+    // Corridas pendentes, como intervalos fechados [runStart[r], runEnd[r]].
+    // Cada corrida tem mais que o dobro do tamanho da que está acima dela, então
+    // a pilha nunca passa de lg n + 1 corridas.
+    static int[] runStart;
+    static int[] runEnd;
+    static int runs;
+
+    static int[][] buffers;
+
+    public static void swap(int i, int j) {
+        int temp = numbersArray[i];
+        numbersArray[i] = numbersArray[j];
+        numbersArray[j] = temp;
+    }
+
+    // Devolve o fim (exclusivo) da corrida que começa em start. Uma corrida
+    // estritamente decrescente é invertida; com ">=" a inversão trocaria a
+    // ordem de elementos iguais.
+    public static int nextRun(int start) {
+        int end = start + 1;
+
+        if (end == n) {
+            return end;
+        }
+
+        if (numbersArray[end] < numbersArray[start]) {
+            while (end < n && numbersArray[end] < numbersArray[end - 1]) {
+                end++;
+            }
+
+            for (int i = start, j = end - 1; i < j; i++, j--) {
+                swap(i, j);
+            }
+        } else {
+            while (end < n && numbersArray[end] >= numbersArray[end - 1]) {
+                end++;
+            }
+        }
+
+        return end;
+    }
+
+    // Inserção em [from, to) sabendo que [from, sorted) já está ordenado.
+    public static void insertionSort(int from, int sorted, int to) {
+        for (int i = sorted; i < to; i++) {
+            int temp = numbersArray[i];
+            int j = i - 1;
+
+            while ((j >= from) && (numbersArray[j] > temp)) {
+                numbersArray[j + 1] = numbersArray[j];
+                j--;
+            }
+
+            numbersArray[j + 1] = temp;
+        }
+    }
+
+    // Busca exponencial a partir de from: primeiro índice de [from, to) cujo valor
+    // passa de key (inclusive) ou não fica abaixo de key (!inclusive), ou to se
+    // não houver. Custa O(lg d), sendo d a distância de from até a resposta.
+    public static int gallop(int[] array, int from, int to, int key, boolean inclusive) {
+        int low = from, high = from, step = 1;
+
+        while (high < to && (inclusive ? array[high] <= key : array[high] < key)) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+
+        high = Math.min(high, to);
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (inclusive ? array[middle] <= key : array[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    // Como gallop(..., false), mas a busca exponencial parte do fim de [from, to).
+    public static int gallopFromEnd(int[] array, int from, int to, int key) {
+        int high = to, probe = to - 1, step = 1;
+
+        while (probe >= from && array[probe] >= key) {
+            high = probe;
+            step <<= 1;
+            probe = to - step;
+        }
+
+        int low = Math.max(probe + 1, from);
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (array[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    // O interleave do 07-merge-sort com duas mudanças: sem sentinelas, porque
+    // Integer.MAX_VALUE é um valor válido, e com galopes. Antes de copiar, as
+    // buscas exponenciais descartam o começo de [left, middle] que não passa de
+    // numbersArray[middle + 1] e o fim de [middle + 1, right] que não fica abaixo
+    // de numbersArray[middle], que já estão no lugar. Durante a intercalação, um
+    // lado que vence MIN_GALLOP vezes seguidas é copiado em bloco até o ponto em
+    // que o outro lado volta a ganhar.
+    public static void interleave(int left, int middle, int right) {
+        left = gallop(numbersArray, left, middle + 1, numbersArray[middle + 1], true);
+        right = gallopFromEnd(numbersArray, middle + 1, right + 1, numbersArray[middle]) - 1;
+
+        if (left > middle || right <= middle) {
+            return;
+        }
+
+        int numbersLeft = middle - left + 1;
+        int numbersRight = right - middle;
+
+        int[] leftArray = scratch(0, numbersLeft);
+        int[] rightArray = scratch(1, numbersRight);
+
+        System.arraycopy(numbersArray, left, leftArray, 0, numbersLeft);
+        System.arraycopy(numbersArray, middle + 1, rightArray, 0, numbersRight);
+
+        int i = 0, j = 0, k = left;
+        int leftWins = 0, rightWins = 0;
+
+        while (i < numbersLeft && j < numbersRight) {
+            if (leftArray[i] <= rightArray[j]) {
+                numbersArray[k++] = leftArray[i++];
+                leftWins++;
+                rightWins = 0;
+
+                if (leftWins >= MIN_GALLOP) {
+                    int end = gallop(leftArray, i, numbersLeft, rightArray[j], true);
+
+                    System.arraycopy(leftArray, i, numbersArray, k, end - i);
+                    k += end - i;
+                    i = end;
+                    leftWins = 0;
+                }
+            } else {
+                numbersArray[k++] = rightArray[j++];
+                rightWins++;
+                leftWins = 0;
+
+                if (rightWins >= MIN_GALLOP) {
+                    int end = gallop(rightArray, j, numbersRight, leftArray[i], false);
+
+                    System.arraycopy(rightArray, j, numbersArray, k, end - j);
+                    k += end - j;
+                    j = end;
+                    rightWins = 0;
+                }
+            }
+        }
+
+        System.arraycopy(leftArray, i, numbersArray, k, numbersLeft - i);
+        System.arraycopy(rightArray, j, numbersArray, k + numbersLeft - i, numbersRight - j);
+    }
+
+    // Vetores auxiliares do interleave, reaproveitados entre as intercalações.
+    public static int[] scratch(int side, int length) {
+        if (buffers[side].length < length) {
+            buffers[side] = new int[Math.max(length, 2 * buffers[side].length)];
+        }
+
+        return buffers[side];
+    }
+
+    // Intercala as duas corridas do topo da pilha.
+    public static void mergeTop() {
+        int below = runs - 2, top = runs - 1;
+
+        interleave(runStart[below], runEnd[below], runEnd[top]);
+        runEnd[below] = runEnd[top];
+        runs--;
+    }
+
+    public static int runLength(int r) {
+        return runEnd[r] - runStart[r] + 1;
+    }
+
+    // Empilha a corrida [start, end] e intercala enquanto a corrida de baixo não
+    // tiver mais que o dobro da de cima. Assim os tamanhos na pilha ao menos
+    // dobram de cima para baixo, e cada intercalação junta corridas de tamanhos
+    // comparáveis, o que mantém o total em O(n lg n).
+    public static void push(int start, int end) {
+        runStart[runs] = start;
+        runEnd[runs] = end;
+        runs++;
+
+        while (runs >= 2 && runLength(runs - 2) <= 2 * runLength(runs - 1)) {
+            mergeTop();
+        }
+    }
+
+    public static void naturalMergeSort() {
+        runStart = new int[64];
+        runEnd = new int[64];
+        runs = 0;
+        buffers = new int[][] { new int[0], new int[0] };
+
+        int start = 0;
+
+        while (start < n) {
+            int end = nextRun(start);
+
+            if (end - start < MIN_RUN) {
+                int forced = Math.min(n, start + MIN_RUN);
+
+                insertionSort(start, end, forced);
+                end = forced;
+            }
+
+            push(start, end - 1);
+            start = end;
+        }
+
+        while (runs > 1) {
+            mergeTop();
+        }
+
+        buffers = null;
+    }
+
+    public static void main(String[] args) {
+        numbersArray = new int[] { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
+        n = numbersArray.length;
+
+        System.out.println("Array original:");
+
+        for (int i = 0; i < n; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+
+        naturalMergeSort();
+
+        System.out.println("Array ordenado:");
+
+        for (int i = 0; i < n; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+
+        n = 100;
+        numbersArray = new int[n];
+
+        for (int i = 0; i < n; i++) {
+            numbersArray[i] = (i % 10 == 0) ? n - i : i;
+        }
+
+        naturalMergeSort();
+
+        System.out.println("Array quase ordenado, depois de ordenado:");
+
+        for (int i = 0; i < n; i++) {
+            System.out.print(numbersArray[i] + " ");
+        }
+
+        System.out.println();
+    }
+}
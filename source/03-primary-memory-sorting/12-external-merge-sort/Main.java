@@ -0,0 +1,380 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Código fonte - Implementação do Merge Sort Externo
+ *
+ * Ordena arquivos binários de inteiros (4 bytes, big-endian) maiores que a
+ * memória: o arquivo é lido em janelas mapeadas com FileChannel, cada janela é
+ * ordenada em memória e gravada como uma sequência em arquivo temporário, e as
+ * sequências são intercaladas com um heap de mínimo (rebuildHeap do 09-heap-sort).
+ *
+ * Uso: java Main entrada.bin saida.bin [inteiros por janela] [sequências por intercalação]
+ *
+ * @author Artur Bomtempo Colen
+ * @algorithm Sorting
+ * @type External Merge Sort
+ * @language Java
+ * @version 1.0
+ */
+public class Main {
+    static final int BUFFER_SIZE = 1 << 20;
+
+    static int[] numbersArray;
+    static int n;
+
+    static RunReader[] readers;
+    static int[] heap;
+
+    // Radix LSD em base 256 (08-radix-sort) usado para ordenar cada janela em memória.
+    public static void sortWindow(int[] buffer) {
+        int[] source = numbersArray;
+        int[] destination = buffer;
+        int[] count = new int[257];
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            Arrays.fill(count, 0);
+
+            for (int i = 0; i < n; i++) {
+                count[(((source[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF) + 1]++;
+            }
+
+            for (int i = 0; i < 256; i++) {
+                count[i + 1] += count[i];
+            }
+
+            for (int i = 0; i < n; i++) {
+                destination[count[((source[i] ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = source[i];
+            }
+
+            int[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+    }
+
+    public static List<Path> createRuns(Path input, Path directory, int windowSize) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        numbersArray = new int[windowSize];
+        int[] buffer = new int[windowSize];
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            if (channel.size() % 4 != 0) {
+                throw new Error("O tamanho de " + input + " (" + channel.size() + " bytes) não é múltiplo de 4");
+            }
+
+            long total = channel.size() / 4;
+
+            for (long start = 0; start < total; start += windowSize) {
+                n = (int) Math.min(windowSize, total - start);
+
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, start * 4, (long) n * 4);
+                window.asIntBuffer().get(numbersArray, 0, n);
+
+                sortWindow(buffer);
+
+                Path run = Files.createTempFile(directory, "run", ".bin");
+
+                try (RunWriter writer = new RunWriter(run, BUFFER_SIZE)) {
+                    writer.write(numbersArray, n);
+                }
+
+                runs.add(run);
+            }
+        }
+
+        return runs;
+    }
+
+    // Heap de mínimo com base 1 sobre os índices dos leitores, ordenado pela cabeça de cada sequência.
+    public static void rebuildHeap(int i, int length) {
+        while (2 * i <= length) {
+            int son = 2 * i;
+
+            if (son < length && readers[heap[son + 1]].head < readers[heap[son]].head) {
+                son++;
+            }
+
+            if (readers[heap[son]].head < readers[heap[i]].head) {
+                int temp = heap[i];
+                heap[i] = heap[son];
+                heap[son] = temp;
+                i = son;
+            } else {
+                i = length;
+            }
+        }
+    }
+
+    public static void mergeRuns(List<Path> runs, Path output) throws IOException {
+        readers = new RunReader[runs.size()];
+        heap = new int[runs.size() + 1];
+        int length = 0;
+
+        try {
+            for (int r = 0; r < runs.size(); r++) {
+                readers[r] = new RunReader(runs.get(r), BUFFER_SIZE);
+
+                if (readers[r].next()) {
+                    heap[++length] = r;
+                }
+            }
+
+            for (int i = length / 2; i >= 1; i--) {
+                rebuildHeap(i, length);
+            }
+
+            try (RunWriter writer = new RunWriter(output, BUFFER_SIZE)) {
+                while (length > 0) {
+                    RunReader smallest = readers[heap[1]];
+                    writer.write(smallest.head);
+
+                    if (!smallest.next()) {
+                        heap[1] = heap[length--];
+                    }
+
+                    rebuildHeap(1, length);
+                }
+            }
+        } finally {
+            closeAll(readers);
+        }
+    }
+
+    // Fecha todos os leitores já abertos, mesmo que algum close falhe.
+    private static void closeAll(RunReader[] readers) throws IOException {
+        IOException failure = null;
+
+        for (RunReader reader : readers) {
+            if (reader == null) {
+                continue;
+            }
+
+            try {
+                reader.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public static void externalSort(Path input, Path output, int windowSize, int fanIn) throws IOException {
+        if (windowSize <= 0) {
+            throw new Error("O tamanho da janela precisa ser positivo: " + windowSize);
+        }
+
+        // Com fanIn 1 cada rodada "intercala" uma sequência sozinha e o laço nunca termina.
+        if (fanIn < 2) {
+            throw new Error("É preciso intercalar pelo menos 2 sequências por vez: " + fanIn);
+        }
+
+        Path directory = Files.createTempDirectory("external-sort");
+
+        try {
+            List<Path> runs = createRuns(input, directory, windowSize);
+
+            numbersArray = null;
+
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = Files.createTempFile(directory, "run", ".bin");
+
+                    mergeRuns(group, run);
+
+                    for (Path path : group) {
+                        Files.delete(path);
+                    }
+
+                    merged.add(run);
+                }
+
+                runs = merged;
+            }
+
+            mergeRuns(runs, output);
+        } finally {
+            numbersArray = null;
+            readers = null;
+            deleteDirectory(directory);
+        }
+    }
+
+    // Apaga as sequências que sobraram (todas, se a ordenação falhou no meio) e o diretório.
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                Files.delete(path);
+            }
+        }
+
+        Files.delete(directory);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 2) {
+            int windowSize = args.length >= 3 ? Integer.parseInt(args[2]) : 1 << 26;
+            int fanIn = args.length >= 4 ? Integer.parseInt(args[3]) : 512;
+
+            externalSort(Paths.get(args[0]), Paths.get(args[1]), windowSize, fanIn);
+            return;
+        }
+
+        Path input = Files.createTempFile("numbers", ".bin");
+        Path output = Files.createTempFile("sorted", ".bin");
+        Random rand = new Random();
+        int total = 1000000;
+
+        int count = 0, previous = Integer.MIN_VALUE;
+        boolean ordered = true;
+
+        try {
+            try (RunWriter writer = new RunWriter(input, BUFFER_SIZE)) {
+                for (int i = 0; i < total; i++) {
+                    writer.write(rand.nextInt());
+                }
+            }
+
+            externalSort(input, output, 100000, 4);
+
+            try (RunReader reader = new RunReader(output, BUFFER_SIZE)) {
+                while (reader.next()) {
+                    ordered &= previous <= reader.head;
+                    previous = reader.head;
+                    count++;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+
+        System.out.println(total + " inteiros gravados em " + input);
+        System.out.println(count + " inteiros ordenados em " + output + ": " + (ordered && count == total));
+    }
+}
+
+/**
+ * Lê uma sequência gravada por RunWriter com um buffer direto: next avança e
+ * deixa o próximo inteiro em head, ou devolve false no fim do arquivo.
+ */
+class RunReader implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer bytes;
+    private final IntBuffer ints;
+    public int head;
+
+    public RunReader(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        this.ints = bytes.asIntBuffer();
+        this.ints.limit(0);
+    }
+
+    public boolean next() throws IOException {
+        if (!ints.hasRemaining()) {
+            bytes.clear();
+
+            int read = 0;
+
+            while (bytes.hasRemaining() && read >= 0) {
+                read = channel.read(bytes);
+            }
+
+            bytes.flip();
+            ints.clear();
+            ints.limit(bytes.limit() / 4);
+
+            if (!ints.hasRemaining()) {
+                return false;
+            }
+        }
+
+        head = ints.get();
+        return true;
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+}
+
+/**
+ * Grava inteiros em um arquivo através de um buffer direto de tamanho fixo.
+ */
+class RunWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer bytes;
+    private final IntBuffer ints;
+
+    public RunWriter(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.bytes = ByteBuffer.allocateDirect(bufferSize);
+        this.ints = bytes.asIntBuffer();
+    }
+
+    public void write(int value) throws IOException {
+        if (!ints.hasRemaining()) {
+            flush();
+        }
+
+        ints.put(value);
+    }
+
+    public void write(int[] values, int length) throws IOException {
+        int offset = 0;
+
+        while (offset < length) {
+            if (!ints.hasRemaining()) {
+                flush();
+            }
+
+            int count = Math.min(ints.remaining(), length - offset);
+            ints.put(values, offset, count);
+            offset += count;
+        }
+    }
+
+    public void flush() throws IOException {
+        bytes.position(0);
+        bytes.limit(ints.position() * 4);
+
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+
+        bytes.clear();
+        ints.clear();
+    }
+
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
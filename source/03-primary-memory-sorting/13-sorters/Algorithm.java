@@ -0,0 +1,15 @@
+/**
+ * Métodos de ordenação disponíveis na fachada {@link Sorters}, na mesma ordem
+ * dos módulos de source/03-primary-memory-sorting.
+ */
+public enum Algorithm {
+    SELECTION,
+    INSERTION,
+    BUBBLE,
+    QUICK,
+    SHELL,
+    COUNTING,
+    MERGE,
+    RADIX,
+    HEAP
+}
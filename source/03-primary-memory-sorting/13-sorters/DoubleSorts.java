@@ -0,0 +1,245 @@
+/**
+ * Implementações dos métodos de ordenação para vetores de double, sem estado
+ * global: cada chamada trabalha apenas sobre array[from, to) e aloca seus
+ * próprios buffers, então várias threads podem ordenar ao mesmo tempo.
+ * Cada chamada de Double.compare conta como uma comparação no {@link SortCounter}.
+ */
+final class DoubleSorts {
+    private DoubleSorts() {
+    }
+
+    public static void selectionSort(double[] array, int from, int to, SortCounter counter) {
+        for (int i = from; i < to - 1; i++) {
+            int smallest = i;
+
+            for (int j = i + 1; j < to; j++) {
+                if (Double.compare(array[smallest], array[j]) > 0) {
+                    smallest = j;
+                }
+            }
+
+            counter.comparisons += to - i - 1;
+            swap(array, smallest, i, counter);
+        }
+    }
+
+    public static void insertionSort(double[] array, int from, int to, SortCounter counter) {
+        for (int i = from + 1; i < to; i++) {
+            double temp = array[i];
+            int j = i - 1;
+
+            while ((j >= from) && Double.compare(array[j], temp) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            counter.comparisons += (i - 1 - j) + (j >= from ? 1 : 0);
+            counter.moves += i - j;
+            array[j + 1] = temp;
+        }
+    }
+
+    public static void bubbleSort(double[] array, int from, int to, SortCounter counter) {
+        boolean swapOccurred = true;
+
+        for (int rep = from; rep < to - 1 && swapOccurred; rep++) {
+            swapOccurred = false;
+
+            for (int b = from; b < to - (rep - from + 1); b++) {
+                if (Double.compare(array[b], array[b + 1]) > 0) {
+                    swap(array, b, b + 1, counter);
+                    swapOccurred = true;
+                }
+            }
+
+            counter.comparisons += to - (rep - from + 1) - from;
+        }
+    }
+
+    public static void quickSort(double[] array, int from, int to, SortCounter counter) {
+        counter.enter();
+
+        int left = from, right = to - 1;
+
+        while (right - left >= Sorters.INSERTION_THRESHOLD) {
+            int i = left, j = right;
+            double pivot = array[(left + right) >>> 1];
+
+            while (i <= j) {
+                while (Double.compare(pivot, array[i]) > 0) {
+                    i++;
+                    counter.comparisons++;
+                }
+
+                while (Double.compare(array[j], pivot) > 0) {
+                    j--;
+                    counter.comparisons++;
+                }
+
+                counter.comparisons += 2;
+
+                if (i <= j) {
+                    swap(array, i, j, counter);
+                    i++;
+                    j--;
+                }
+            }
+
+            counter.partition(j - left + 1, right - i + 1);
+
+            if (j - left < right - i) {
+                quickSort(array, left, j + 1, counter);
+                left = i;
+            } else {
+                quickSort(array, i, right + 1, counter);
+                right = j;
+            }
+        }
+
+        insertionSort(array, left, right + 1, counter);
+        counter.exit();
+    }
+
+    public static void shellSort(double[] array, int from, int to, SortCounter counter) {
+        int[] gaps = Sorters.ciuraGaps(to - from);
+
+        for (int g = gaps.length - 1; g >= 0; g--) {
+            int h = gaps[g];
+
+            for (int i = from + h; i < to; i++) {
+                double temp = array[i];
+                int j = i - h;
+
+                while ((j >= from) && Double.compare(array[j], temp) > 0) {
+                    array[j + h] = array[j];
+                    j -= h;
+                    counter.comparisons++;
+                    counter.moves++;
+                }
+
+                counter.comparisons += j >= from ? 1 : 0;
+                counter.moves++;
+                array[j + h] = temp;
+            }
+        }
+    }
+
+    public static void mergeSort(double[] array, int from, int to, SortCounter counter) {
+        if (to - from > Sorters.INSERTION_THRESHOLD) {
+            mergeSort(array, from, to, new double[(to - from) / 2], counter);
+        } else {
+            insertionSort(array, from, to, counter);
+        }
+    }
+
+    private static void mergeSort(double[] array, int from, int to, double[] buffer, SortCounter counter) {
+        if (to - from <= Sorters.INSERTION_THRESHOLD) {
+            insertionSort(array, from, to, counter);
+            return;
+        }
+
+        counter.enter();
+
+        int middle = (from + to) >>> 1;
+
+        mergeSort(array, from, middle, buffer, counter);
+        mergeSort(array, middle, to, buffer, counter);
+
+        counter.comparisons++;
+
+        if (Double.compare(array[middle - 1], array[middle]) <= 0) {
+            counter.exit();
+            return;
+        }
+
+        int length = middle - from;
+        System.arraycopy(array, from, buffer, 0, length);
+
+        int i = 0, j = middle, k = from;
+
+        while (i < length && j < to) {
+            if (Double.compare(buffer[i], array[j]) > 0) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        counter.comparisons += k - from;
+        counter.moves += length + (k - from) + (length - i);
+        System.arraycopy(buffer, i, array, k, length - i);
+        counter.exit();
+    }
+
+    public static void heapSort(double[] array, int from, int to, SortCounter counter) {
+        int length = to - from;
+        long start = System.nanoTime();
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            rebuildHeap(array, from, i, length, counter);
+        }
+
+        counter.phase(SortMetrics.Phase.BUILD_HEAP, start);
+        start = System.nanoTime();
+
+        for (int last = length - 1; last > 0; last--) {
+            swap(array, from, from + last, counter);
+            rebuildHeap(array, from, 0, last, counter);
+        }
+
+        counter.phase(SortMetrics.Phase.EXTRACT, start);
+    }
+
+    private static void rebuildHeap(double[] array, int offset, int i, int length, SortCounter counter) {
+        double temp = array[offset + i];
+        int son;
+
+        while ((son = 2 * i + 1) < length) {
+            if (son + 1 < length) {
+                counter.comparisons++;
+
+                if (Double.compare(array[offset + son + 1], array[offset + son]) > 0) {
+                    son++;
+                }
+            }
+
+            counter.comparisons++;
+
+            if (Double.compare(array[offset + son], temp) <= 0) {
+                break;
+            }
+
+            array[offset + i] = array[offset + son];
+            counter.moves++;
+            i = son;
+        }
+
+        array[offset + i] = temp;
+    }
+
+    private static void swap(double[] array, int i, int j, SortCounter counter) {
+        double temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        counter.swaps++;
+    }
+
+    // Converte os bits do double em um long cuja ordem com sinal é a de Double.compare.
+    // doubleToLongBits (e não a versão Raw) leva todo NaN ao NaN canônico, de bit de
+    // sinal zerado: um NaN negativo viraria a menor chave e iria para o início.
+    public static void radixSort(double[] array, int from, int to, SortCounter counter) {
+        long[] keys = new long[to - from];
+
+        for (int i = from; i < to; i++) {
+            long bits = Double.doubleToLongBits(array[i]);
+            keys[i - from] = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+        }
+
+        LongSorts.radixSort(keys, 0, keys.length, counter);
+
+        for (int i = from; i < to; i++) {
+            long key = keys[i - from];
+            array[i] = Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+        }
+    }
+}
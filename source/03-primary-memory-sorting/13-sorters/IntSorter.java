@@ -0,0 +1,24 @@
+/**
+ * Estratégia de ordenação para vetores de int, sem boxing.
+ */
+@FunctionalInterface
+public interface IntSorter {
+
+    /**
+     * Ordena em ordem crescente os elementos de array[from, to).
+     *
+     * @param array Vetor a ser ordenado.
+     * @param from  Índice do primeiro elemento (inclusivo).
+     * @param to    Índice final (exclusivo).
+     */
+    void sort(int[] array, int from, int to);
+
+    /**
+     * Ordena o vetor inteiro.
+     *
+     * @param array Vetor a ser ordenado.
+     */
+    default void sort(int[] array) {
+        sort(array, 0, array.length);
+    }
+}
@@ -0,0 +1,320 @@
+import java.util.Arrays;
+
+/**
+ * Implementações dos métodos de ordenação para vetores de long, sem estado
+ * global: cada chamada trabalha apenas sobre array[from, to) e aloca seus
+ * próprios buffers, então várias threads podem ordenar ao mesmo tempo.
+ * Os contadores seguem os de {@link IntSorts}.
+ */
+final class LongSorts {
+    private LongSorts() {
+    }
+
+    public static void selectionSort(long[] array, int from, int to, SortCounter counter) {
+        for (int i = from; i < to - 1; i++) {
+            int smallest = i;
+
+            for (int j = i + 1; j < to; j++) {
+                if (array[smallest] > array[j]) {
+                    smallest = j;
+                }
+            }
+
+            counter.comparisons += to - i - 1;
+            swap(array, smallest, i, counter);
+        }
+    }
+
+    public static void insertionSort(long[] array, int from, int to, SortCounter counter) {
+        for (int i = from + 1; i < to; i++) {
+            long temp = array[i];
+            int j = i - 1;
+
+            while ((j >= from) && array[j] > temp) {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            counter.comparisons += (i - 1 - j) + (j >= from ? 1 : 0);
+            counter.moves += i - j;
+            array[j + 1] = temp;
+        }
+    }
+
+    public static void bubbleSort(long[] array, int from, int to, SortCounter counter) {
+        boolean swapOccurred = true;
+
+        for (int rep = from; rep < to - 1 && swapOccurred; rep++) {
+            swapOccurred = false;
+
+            for (int b = from; b < to - (rep - from + 1); b++) {
+                if (array[b] > array[b + 1]) {
+                    swap(array, b, b + 1, counter);
+                    swapOccurred = true;
+                }
+            }
+
+            counter.comparisons += to - (rep - from + 1) - from;
+        }
+    }
+
+    public static void quickSort(long[] array, int from, int to, SortCounter counter) {
+        counter.enter();
+
+        int left = from, right = to - 1;
+
+        while (right - left >= Sorters.INSERTION_THRESHOLD) {
+            int i = left, j = right;
+            long pivot = array[(left + right) >>> 1];
+
+            while (i <= j) {
+                while (pivot > array[i]) {
+                    i++;
+                    counter.comparisons++;
+                }
+
+                while (array[j] > pivot) {
+                    j--;
+                    counter.comparisons++;
+                }
+
+                counter.comparisons += 2;
+
+                if (i <= j) {
+                    swap(array, i, j, counter);
+                    i++;
+                    j--;
+                }
+            }
+
+            counter.partition(j - left + 1, right - i + 1);
+
+            if (j - left < right - i) {
+                quickSort(array, left, j + 1, counter);
+                left = i;
+            } else {
+                quickSort(array, i, right + 1, counter);
+                right = j;
+            }
+        }
+
+        insertionSort(array, left, right + 1, counter);
+        counter.exit();
+    }
+
+    public static void shellSort(long[] array, int from, int to, SortCounter counter) {
+        int[] gaps = Sorters.ciuraGaps(to - from);
+
+        for (int g = gaps.length - 1; g >= 0; g--) {
+            int h = gaps[g];
+
+            for (int i = from + h; i < to; i++) {
+                long temp = array[i];
+                int j = i - h;
+
+                while ((j >= from) && array[j] > temp) {
+                    array[j + h] = array[j];
+                    j -= h;
+                    counter.comparisons++;
+                    counter.moves++;
+                }
+
+                counter.comparisons += j >= from ? 1 : 0;
+                counter.moves++;
+                array[j + h] = temp;
+            }
+        }
+    }
+
+    public static void mergeSort(long[] array, int from, int to, SortCounter counter) {
+        if (to - from > Sorters.INSERTION_THRESHOLD) {
+            mergeSort(array, from, to, new long[(to - from) / 2], counter);
+        } else {
+            insertionSort(array, from, to, counter);
+        }
+    }
+
+    private static void mergeSort(long[] array, int from, int to, long[] buffer, SortCounter counter) {
+        if (to - from <= Sorters.INSERTION_THRESHOLD) {
+            insertionSort(array, from, to, counter);
+            return;
+        }
+
+        counter.enter();
+
+        int middle = (from + to) >>> 1;
+
+        mergeSort(array, from, middle, buffer, counter);
+        mergeSort(array, middle, to, buffer, counter);
+
+        counter.comparisons++;
+
+        if (array[middle - 1] <= array[middle]) {
+            counter.exit();
+            return;
+        }
+
+        int length = middle - from;
+        System.arraycopy(array, from, buffer, 0, length);
+
+        int i = 0, j = middle, k = from;
+
+        while (i < length && j < to) {
+            if (buffer[i] > array[j]) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        counter.comparisons += k - from;
+        counter.moves += length + (k - from) + (length - i);
+        System.arraycopy(buffer, i, array, k, length - i);
+        counter.exit();
+    }
+
+    public static void heapSort(long[] array, int from, int to, SortCounter counter) {
+        int length = to - from;
+        long start = System.nanoTime();
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            rebuildHeap(array, from, i, length, counter);
+        }
+
+        counter.phase(SortMetrics.Phase.BUILD_HEAP, start);
+        start = System.nanoTime();
+
+        for (int last = length - 1; last > 0; last--) {
+            swap(array, from, from + last, counter);
+            rebuildHeap(array, from, 0, last, counter);
+        }
+
+        counter.phase(SortMetrics.Phase.EXTRACT, start);
+    }
+
+    private static void rebuildHeap(long[] array, int offset, int i, int length, SortCounter counter) {
+        long temp = array[offset + i];
+        int son;
+
+        while ((son = 2 * i + 1) < length) {
+            if (son + 1 < length) {
+                counter.comparisons++;
+
+                if (array[offset + son + 1] > array[offset + son]) {
+                    son++;
+                }
+            }
+
+            counter.comparisons++;
+
+            if (array[offset + son] <= temp) {
+                break;
+            }
+
+            array[offset + i] = array[offset + son];
+            counter.moves++;
+            i = son;
+        }
+
+        array[offset + i] = temp;
+    }
+
+    private static void swap(long[] array, int i, int j, SortCounter counter) {
+        long temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        counter.swaps++;
+    }
+
+    public static void countingSort(long[] array, int from, int to, SortCounter counter) {
+        if (to - from < 2) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long smallest = array[from], biggest = array[from];
+
+        for (int i = from + 1; i < to; i++) {
+            if (array[i] < smallest) {
+                smallest = array[i];
+            } else if (array[i] > biggest) {
+                biggest = array[i];
+            }
+        }
+
+        long range = biggest - smallest + 1;
+
+        if (range <= 0 || !Sorters.isDense(range, to - from)) {
+            radixSort(array, from, to, counter);
+            return;
+        }
+
+        int[] count = new int[(int) range];
+
+        for (int i = from; i < to; i++) {
+            count[(int) (array[i] - smallest)]++;
+        }
+
+        counter.phase(SortMetrics.Phase.COUNT, start);
+        start = System.nanoTime();
+
+        int k = from;
+
+        for (int i = 0; i < count.length; i++) {
+            for (int c = count[i]; c > 0; c--) {
+                array[k++] = i + smallest;
+            }
+        }
+
+        counter.moves += to - from;
+        counter.phase(SortMetrics.Phase.DISTRIBUTE, start);
+    }
+
+    public static void radixSort(long[] array, int from, int to, SortCounter counter) {
+        int length = to - from;
+
+        if (length < 2) {
+            return;
+        }
+
+        long[] source = Arrays.copyOfRange(array, from, to);
+        long[] buffer = new long[length];
+        int[] count = new int[257];
+
+        for (int shift = 0; shift < 64; shift += 8) {
+            long start = System.nanoTime();
+
+            Arrays.fill(count, 0);
+
+            for (int i = 0; i < length; i++) {
+                count[(int) (((source[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF) + 1]++;
+            }
+
+            counter.phase(SortMetrics.Phase.COUNT, start);
+
+            if (count[(int) (((source[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF) + 1] == length) {
+                continue;
+            }
+
+            start = System.nanoTime();
+
+            for (int i = 0; i < 256; i++) {
+                count[i + 1] += count[i];
+            }
+
+            for (int i = 0; i < length; i++) {
+                buffer[count[(int) (((source[i] ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++] = source[i];
+            }
+
+            counter.moves += length;
+            counter.phase(SortMetrics.Phase.DISTRIBUTE, start);
+
+            long[] temp = source;
+            source = buffer;
+            buffer = temp;
+        }
+
+        System.arraycopy(source, 0, array, from, length);
+        counter.moves += 2L * length;
+    }
+}
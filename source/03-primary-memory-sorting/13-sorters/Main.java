@@ -0,0 +1,106 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Código fonte - Fachada Reentrante para os Métodos de Ordenação
+ *
+ * @author Artur Bomtempo Colen
+ * @algorithm Sorting
+ * @type Sorters API
+ * @language Java
+ * @version 1.0
+ */
+public class Main {
+    public static void main(String[] args) throws InterruptedException {
+        int[] numbersArray = { 12, 4, 8, 2, 14, 17, 6, 18, 10, 16, 15, 5, 13, 9, 1, 11, 7, 3 };
+        int middle = numbersArray.length / 2;
+
+        System.out.println("Array original:");
+        System.out.println(Arrays.toString(numbersArray));
+
+        Thread left = new Thread(() -> Sorters.sort(numbersArray, 0, middle, Algorithm.HEAP));
+        Thread right = new Thread(() -> Sorters.sort(numbersArray, middle, numbersArray.length, Algorithm.QUICK));
+
+        left.start();
+        right.start();
+        left.join();
+        right.join();
+
+        System.out.println("Metades ordenadas ao mesmo tempo (heap sort e quicksort):");
+        System.out.println(Arrays.toString(numbersArray));
+
+        for (Algorithm algorithm : Algorithm.values()) {
+            long[] longs = { 5000000000L, -3, 42, 7, -5000000000L, 0, 42 };
+            Sorters.sort(longs, 0, longs.length, algorithm);
+
+            System.out.println(algorithm + " (long): " + Arrays.toString(longs));
+        }
+
+        // NaN com o bit de sinal ligado, -0.0 e 0.0: todos os métodos precisam seguir
+        // Double.compare (-0.0 antes de 0.0 e qualquer NaN no fim), como Arrays.sort.
+        double negativeNaN = Double.longBitsToDouble(0xFFF8000000000001L);
+        double[] special = { 3.5, -0.0, Double.NaN, 0.0, negativeNaN, Double.NEGATIVE_INFINITY, -7.25, 1e10,
+                -0.0, Double.POSITIVE_INFINITY, 0.0 };
+        double[] expected = special.clone();
+        Arrays.sort(expected);
+
+        for (Algorithm algorithm : Algorithm.values()) {
+            if (algorithm == Algorithm.COUNTING) {
+                continue;
+            }
+
+            double[] doubles = special.clone();
+            Sorters.sort(doubles, 0, doubles.length, algorithm);
+
+            if (!Arrays.equals(doubles, expected)) {
+                throw new Error(algorithm + " ordenou double fora da ordem de Double.compare: "
+                        + Arrays.toString(doubles));
+            }
+        }
+
+        System.out.println("double com NaN e -0.0 (todos os métodos): " + Arrays.toString(expected));
+
+        String[] names = { "Marcelo", "Ana", "Carlos", "Bia", "Eduardo" };
+        Sorters.sort(names, 0, names.length, Comparator.comparing(String::length).thenComparing(Comparator.naturalOrder()),
+                Algorithm.MERGE);
+
+        System.out.println("MERGE (String por tamanho): " + Arrays.toString(names));
+
+        // As estratégias das fábricas também conferem o intervalo, sem passar por
+        // Sorters.sort; com from > to, a maioria dos métodos não faria nada.
+        for (Algorithm algorithm : Algorithm.values()) {
+            try {
+                Sorters.intSorter(algorithm).sort(new int[4], 3, 1);
+                throw new Error(algorithm + " aceitou from > to");
+            } catch (IllegalArgumentException expectedException) {
+                // esperado
+            }
+        }
+
+        try {
+            Sorters.objectSorter(Algorithm.QUICK).sort(names, 3, 1, Comparator.naturalOrder());
+            throw new Error("objectSorter aceitou from > to");
+        } catch (IllegalArgumentException expectedException) {
+            // esperado
+        }
+
+        for (Algorithm algorithm : Algorithm.values()) {
+            int[] array = new int[1000];
+
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (i * 7919) % 1000;
+            }
+
+            Sorters.sort(array, 0, array.length, algorithm);
+        }
+
+        System.out.println("Métricas das ordenações de int:");
+        System.out.println(Sorters.metrics().snapshot());
+        System.out.println("Métricas das ordenações de long:");
+        System.out.println(Sorters.longMetrics().snapshot());
+        System.out.println("Métricas das ordenações de double:");
+        System.out.println(Sorters.doubleMetrics().snapshot());
+        System.out.println("Métricas das ordenações de objetos:");
+        System.out.println(Sorters.objectMetrics().snapshot());
+    }
+}
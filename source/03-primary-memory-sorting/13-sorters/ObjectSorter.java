@@ -0,0 +1,19 @@
+import java.util.Comparator;
+
+/**
+ * Estratégia de ordenação para vetores de objetos comparados por um Comparator.
+ */
+@FunctionalInterface
+public interface ObjectSorter {
+
+    /**
+     * Ordena os elementos de array[from, to) segundo o comparador.
+     *
+     * @param <T>        Tipo dos elementos.
+     * @param array      Vetor a ser ordenado.
+     * @param from       Índice do primeiro elemento (inclusivo).
+     * @param to         Índice final (exclusivo).
+     * @param comparator Comparador que define a ordem.
+     */
+    <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator);
+}
@@ -0,0 +1,229 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Implementações dos métodos de ordenação por comparação para vetores de
+ * objetos, usando o Comparator recebido. Counting e radix sort dependem de
+ * chaves inteiras e não existem aqui. Cada chamada ao Comparator conta como
+ * uma comparação no {@link SortCounter}.
+ */
+final class ObjectSorts {
+    private ObjectSorts() {
+    }
+
+    public static <T> void selectionSort(T[] array, int from, int to, Comparator<? super T> c, SortCounter counter) {
+        for (int i = from; i < to - 1; i++) {
+            int smallest = i;
+
+            for (int j = i + 1; j < to; j++) {
+                if (c.compare(array[smallest], array[j]) > 0) {
+                    smallest = j;
+                }
+            }
+
+            counter.comparisons += to - i - 1;
+            swap(array, smallest, i, counter);
+        }
+    }
+
+    public static <T> void insertionSort(T[] array, int from, int to, Comparator<? super T> c, SortCounter counter) {
+        for (int i = from + 1; i < to; i++) {
+            T temp = array[i];
+            int j = i - 1;
+
+            while ((j >= from) && c.compare(array[j], temp) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+
+            counter.comparisons += (i - 1 - j) + (j >= from ? 1 : 0);
+            counter.moves += i - j;
+            array[j + 1] = temp;
+        }
+    }
+
+    public static <T> void bubbleSort(T[] array, int from, int to, Comparator<? super T> c, SortCounter counter) {
+        boolean swapOccurred = true;
+
+        for (int rep = from; rep < to - 1 && swapOccurred; rep++) {
+            swapOccurred = false;
+
+            for (int b = from; b < to - (rep - from + 1); b++) {
+                if (c.compare(array[b], array[b + 1]) > 0) {
+                    swap(array, b, b + 1, counter);
+                    swapOccurred = true;
+                }
+            }
+
+            counter.comparisons += to - (rep - from + 1) - from;
+        }
+    }
+
+    public static <T> void quickSort(T[] array, int from, int to, Comparator<? super T> c, SortCounter counter) {
+        counter.enter();
+
+        int left = from, right = to - 1;
+
+        while (right - left >= Sorters.INSERTION_THRESHOLD) {
+            int i = left, j = right;
+            T pivot = array[(left + right) >>> 1];
+
+            while (i <= j) {
+                while (c.compare(pivot, array[i]) > 0) {
+                    i++;
+                    counter.comparisons++;
+                }
+
+                while (c.compare(array[j], pivot) > 0) {
+                    j--;
+                    counter.comparisons++;
+                }
+
+                counter.comparisons += 2;
+
+                if (i <= j) {
+                    swap(array, i, j, counter);
+                    i++;
+                    j--;
+                }
+            }
+
+            counter.partition(j - left + 1, right - i + 1);
+
+            if (j - left < right - i) {
+                quickSort(array, left, j + 1, c, counter);
+                left = i;
+            } else {
+                quickSort(array, i, right + 1, c, counter);
+                right = j;
+            }
+        }
+
+        insertionSort(array, left, right + 1, c, counter);
+        counter.exit();
+    }
+
+    public static <T> void shellSort(T[] array, int from, int to, Comparator<? super T> c, SortCounter counter) {
+        int[] gaps = Sorters.ciuraGaps(to - from);
+
+        for (int g = gaps.length - 1; g >= 0; g--) {
+            int h = gaps[g];
+
+            for (int i = from + h; i < to; i++) {
+                T temp = array[i];
+                int j = i - h;
+
+                while ((j >= from) && c.compare(array[j], temp) > 0) {
+                    array[j + h] = array[j];
+                    j -= h;
+                    counter.comparisons++;
+                    counter.moves++;
+                }
+
+                counter.comparisons += j >= from ? 1 : 0;
+                counter.moves++;
+                array[j + h] = temp;
+            }
+        }
+    }
+
+    public static <T> void mergeSort(T[] array, int from, int to, Comparator<? super T> c, SortCounter counter) {
+        if (to - from > Sorters.INSERTION_THRESHOLD) {
+            mergeSort(array, from, to, Arrays.copyOf(array, (to - from) / 2), c, counter);
+        } else {
+            insertionSort(array, from, to, c, counter);
+        }
+    }
+
+    private static <T> void mergeSort(T[] array, int from, int to, T[] buffer, Comparator<? super T> c, SortCounter counter) {
+        if (to - from <= Sorters.INSERTION_THRESHOLD) {
+            insertionSort(array, from, to, c, counter);
+            return;
+        }
+
+        counter.enter();
+
+        int middle = (from + to) >>> 1;
+
+        mergeSort(array, from, middle, buffer, c, counter);
+        mergeSort(array, middle, to, buffer, c, counter);
+
+        counter.comparisons++;
+
+        if (c.compare(array[middle - 1], array[middle]) <= 0) {
+            counter.exit();
+            return;
+        }
+
+        int length = middle - from;
+        System.arraycopy(array, from, buffer, 0, length);
+
+        int i = 0, j = middle, k = from;
+
+        while (i < length && j < to) {
+            if (c.compare(buffer[i], array[j]) > 0) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+
+        counter.comparisons += k - from;
+        counter.moves += length + (k - from) + (length - i);
+        System.arraycopy(buffer, i, array, k, length - i);
+        counter.exit();
+    }
+
+    public static <T> void heapSort(T[] array, int from, int to, Comparator<? super T> c, SortCounter counter) {
+        int length = to - from;
+        long start = System.nanoTime();
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            rebuildHeap(array, from, i, length, c, counter);
+        }
+
+        counter.phase(SortMetrics.Phase.BUILD_HEAP, start);
+        start = System.nanoTime();
+
+        for (int last = length - 1; last > 0; last--) {
+            swap(array, from, from + last, counter);
+            rebuildHeap(array, from, 0, last, c, counter);
+        }
+
+        counter.phase(SortMetrics.Phase.EXTRACT, start);
+    }
+
+    private static <T> void rebuildHeap(T[] array, int offset, int i, int length, Comparator<? super T> c, SortCounter counter) {
+        T temp = array[offset + i];
+        int son;
+
+        while ((son = 2 * i + 1) < length) {
+            if (son + 1 < length) {
+                counter.comparisons++;
+
+                if (c.compare(array[offset + son + 1], array[offset + son]) > 0) {
+                    son++;
+                }
+            }
+
+            counter.comparisons++;
+
+            if (c.compare(array[offset + son], temp) <= 0) {
+                break;
+            }
+
+            array[offset + i] = array[offset + son];
+            counter.moves++;
+            i = son;
+        }
+
+        array[offset + i] = temp;
+    }
+
+    private static <T> void swap(T[] array, int i, int j, SortCounter counter) {
+        T temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+        counter.swaps++;
+    }
+}
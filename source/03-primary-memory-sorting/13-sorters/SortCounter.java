@@ -0,0 +1,48 @@
+/**
+ * Contadores de uma única chamada de ordenação. Pertence a uma só thread,
+ * então usa campos comuns; ao final da chamada é somado ao {@link SortMetrics}
+ * compartilhado.
+ */
+final class SortCounter {
+    long comparisons;
+    long swaps;
+    long moves;
+    int depth;
+    int maxDepth;
+    long partitions;
+    double imbalanceSum;
+    double worstImbalance;
+    final long[] phaseNanos = new long[SortMetrics.Phase.values().length];
+
+    void enter() {
+        if (++depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    void exit() {
+        depth--;
+    }
+
+    // Desequilíbrio da partição: fração do intervalo que ficou no lado maior (0,5 é o ideal).
+    void partition(int leftSize, int rightSize) {
+        int total = leftSize + rightSize;
+
+        if (total == 0) {
+            return;
+        }
+
+        double imbalance = (double) Math.max(leftSize, rightSize) / total;
+
+        partitions++;
+        imbalanceSum += imbalance;
+
+        if (imbalance > worstImbalance) {
+            worstImbalance = imbalance;
+        }
+    }
+
+    void phase(SortMetrics.Phase phase, long start) {
+        phaseNanos[phase.ordinal()] += System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,148 @@
+import java.util.Locale;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas acumuladas das ordenações feitas pela fachada {@link Sorters}.
+ *
+ * Cada chamada conta comparações, trocas e movimentos em um {@link SortCounter}
+ * próprio e só no final soma o resultado aqui, em LongAdders separados por
+ * algoritmo, de modo que as threads não disputam os mesmos contadores.
+ */
+public final class SortMetrics {
+
+    /**
+     * Fases cronometradas separadamente. TOTAL cobre a chamada inteira.
+     */
+    public enum Phase {
+        TOTAL,
+        BUILD_HEAP,
+        EXTRACT,
+        COUNT,
+        DISTRIBUTE
+    }
+
+    private final LongAdder[] sorts = adders();
+    private final LongAdder[] elements = adders();
+    private final LongAdder[] comparisons = adders();
+    private final LongAdder[] swaps = adders();
+    private final LongAdder[] moves = adders();
+    private final LongAdder[] partitions = adders();
+    private final DoubleAdder[] imbalanceSum = new DoubleAdder[Algorithm.values().length];
+    private final DoubleAccumulator[] worstImbalance = new DoubleAccumulator[Algorithm.values().length];
+    private final LongAccumulator[] maxDepth = new LongAccumulator[Algorithm.values().length];
+    private final LongAdder[][] phaseNanos = new LongAdder[Algorithm.values().length][];
+
+    public SortMetrics() {
+        for (int a = 0; a < Algorithm.values().length; a++) {
+            imbalanceSum[a] = new DoubleAdder();
+            worstImbalance[a] = new DoubleAccumulator(Math::max, 0);
+            maxDepth[a] = new LongAccumulator(Math::max, 0);
+            phaseNanos[a] = new LongAdder[Phase.values().length];
+
+            for (int p = 0; p < Phase.values().length; p++) {
+                phaseNanos[a][p] = new LongAdder();
+            }
+        }
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] result = new LongAdder[Algorithm.values().length];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = new LongAdder();
+        }
+
+        return result;
+    }
+
+    void record(Algorithm algorithm, int length, SortCounter counter) {
+        int a = algorithm.ordinal();
+
+        sorts[a].increment();
+        elements[a].add(length);
+        comparisons[a].add(counter.comparisons);
+        swaps[a].add(counter.swaps);
+        moves[a].add(counter.moves);
+        maxDepth[a].accumulate(counter.maxDepth);
+
+        if (counter.partitions > 0) {
+            partitions[a].add(counter.partitions);
+            imbalanceSum[a].add(counter.imbalanceSum);
+            worstImbalance[a].accumulate(counter.worstImbalance);
+        }
+
+        for (int p = 0; p < Phase.values().length; p++) {
+            if (counter.phaseNanos[p] != 0) {
+                phaseNanos[a][p].add(counter.phaseNanos[p]);
+            }
+        }
+    }
+
+    public void reset() {
+        for (int a = 0; a < Algorithm.values().length; a++) {
+            sorts[a].reset();
+            elements[a].reset();
+            comparisons[a].reset();
+            swaps[a].reset();
+            moves[a].reset();
+            partitions[a].reset();
+            imbalanceSum[a].reset();
+            worstImbalance[a].reset();
+            maxDepth[a].reset();
+
+            for (LongAdder phase : phaseNanos[a]) {
+                phase.reset();
+            }
+        }
+    }
+
+    /**
+     * Gera uma cópia dos valores atuais em JSON, com um objeto por algoritmo
+     * que já foi usado. A cópia não é atômica entre contadores diferentes.
+     *
+     * @return Snapshot das métricas em JSON.
+     */
+    public String snapshot() {
+        StringBuilder json = new StringBuilder("{");
+        boolean first = true;
+
+        for (Algorithm algorithm : Algorithm.values()) {
+            int a = algorithm.ordinal();
+            long count = sorts[a].sum();
+
+            if (count == 0) {
+                continue;
+            }
+
+            long partitionCount = partitions[a].sum();
+
+            json.append(first ? "" : ",").append("\n  \"").append(algorithm).append("\": {");
+            json.append(String.format(Locale.ROOT,
+                    "\"sorts\": %d, \"elements\": %d, \"comparisons\": %d, \"swaps\": %d, \"moves\": %d, "
+                            + "\"maxRecursionDepth\": %d, \"partitions\": %d, \"averageImbalance\": %.4f, "
+                            + "\"worstImbalance\": %.4f, \"phaseNanos\": {",
+                    count, elements[a].sum(), comparisons[a].sum(), swaps[a].sum(), moves[a].sum(),
+                    maxDepth[a].get(), partitionCount,
+                    partitionCount == 0 ? 0.0 : imbalanceSum[a].sum() / partitionCount, worstImbalance[a].get()));
+
+            boolean firstPhase = true;
+
+            for (Phase phase : Phase.values()) {
+                long nanos = phaseNanos[a][phase.ordinal()].sum();
+
+                if (nanos != 0) {
+                    json.append(firstPhase ? "" : ", ").append('"').append(phase).append("\": ").append(nanos);
+                    firstPhase = false;
+                }
+            }
+
+            json.append("}}");
+            first = false;
+        }
+
+        return json.append(first ? "}" : "\n}").toString();
+    }
+}
@@ -0,0 +1,263 @@
+import java.util.Comparator;
+
+/**
+ * Fachada reentrante para os métodos de ordenação.
+ *
+ * Ao contrário dos programas de source/03-primary-memory-sorting, que guardam
+ * o vetor em {@code static int[] numbersArray}, aqui nenhum método tem estado
+ * compartilhado: o vetor e o intervalo [from, to) chegam por parâmetro, então
+ * várias threads podem ordenar vetores (ou trechos disjuntos do mesmo vetor)
+ * ao mesmo tempo.
+ */
+public final class Sorters {
+    static final int INSERTION_THRESHOLD = 16;
+    static final int SPARSE_FACTOR = 4;
+    static final int MIN_DENSE_RANGE = 1 << 16;
+
+    private static final SortMetrics METRICS = new SortMetrics();
+    private static final SortMetrics LONG_METRICS = new SortMetrics();
+    private static final SortMetrics DOUBLE_METRICS = new SortMetrics();
+    private static final SortMetrics OBJECT_METRICS = new SortMetrics();
+
+    private Sorters() {
+    }
+
+    /**
+     * Devolve a estratégia de ordenação de vetores de int para o algoritmo.
+     *
+     * @param algorithm Algoritmo desejado.
+     * @return Estratégia sem estado, que pode ser compartilhada entre threads.
+     */
+    public static IntSorter intSorter(Algorithm algorithm) {
+        switch (algorithm) {
+            case SELECTION: return (array, from, to) -> instrumented(algorithm, IntSorts::selectionSort, array, from, to);
+            case INSERTION: return (array, from, to) -> instrumented(algorithm, IntSorts::insertionSort, array, from, to);
+            case BUBBLE: return (array, from, to) -> instrumented(algorithm, IntSorts::bubbleSort, array, from, to);
+            case QUICK: return (array, from, to) -> instrumented(algorithm, IntSorts::quickSort, array, from, to);
+            case SHELL: return (array, from, to) -> instrumented(algorithm, IntSorts::shellSort, array, from, to);
+            case COUNTING: return (array, from, to) -> instrumented(algorithm, IntSorts::countingSort, array, from, to);
+            case MERGE: return (array, from, to) -> instrumented(algorithm, IntSorts::mergeSort, array, from, to);
+            case RADIX: return (array, from, to) -> instrumented(algorithm, IntSorts::radixSort, array, from, to);
+            case HEAP: return (array, from, to) -> instrumented(algorithm, IntSorts::heapSort, array, from, to);
+            default: throw new IllegalArgumentException("Algoritmo desconhecido: " + algorithm);
+        }
+    }
+
+    interface CountedIntSort {
+        void sort(int[] array, int from, int to, SortCounter counter);
+    }
+
+    interface CountedLongSort {
+        void sort(long[] array, int from, int to, SortCounter counter);
+    }
+
+    interface CountedDoubleSort {
+        void sort(double[] array, int from, int to, SortCounter counter);
+    }
+
+    interface CountedObjectSort {
+        <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator, SortCounter counter);
+    }
+
+    // Toda estratégia devolvida pelas fábricas confere o intervalo antes de
+    // ordenar, e não só os métodos sort desta classe.
+    private static void instrumented(Algorithm algorithm, CountedIntSort sort, int[] array, int from, int to) {
+        checkRange(array.length, from, to);
+
+        SortCounter counter = new SortCounter();
+        long start = System.nanoTime();
+
+        sort.sort(array, from, to, counter);
+        record(METRICS, algorithm, to - from, counter, start);
+    }
+
+    private static void instrumented(Algorithm algorithm, CountedLongSort sort, long[] array, int from, int to) {
+        checkRange(array.length, from, to);
+
+        SortCounter counter = new SortCounter();
+        long start = System.nanoTime();
+
+        sort.sort(array, from, to, counter);
+        record(LONG_METRICS, algorithm, to - from, counter, start);
+    }
+
+    private static void instrumented(Algorithm algorithm, CountedDoubleSort sort, double[] array, int from, int to) {
+        checkRange(array.length, from, to);
+
+        SortCounter counter = new SortCounter();
+        long start = System.nanoTime();
+
+        sort.sort(array, from, to, counter);
+        record(DOUBLE_METRICS, algorithm, to - from, counter, start);
+    }
+
+    // ObjectSorter tem um método genérico, que não pode ser implementado por lambda.
+    private static ObjectSorter instrumented(Algorithm algorithm, CountedObjectSort sort) {
+        return new ObjectSorter() {
+            @Override
+            public <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator) {
+                checkRange(array.length, from, to);
+
+                SortCounter counter = new SortCounter();
+                long start = System.nanoTime();
+
+                sort.sort(array, from, to, comparator, counter);
+                record(OBJECT_METRICS, algorithm, to - from, counter, start);
+            }
+        };
+    }
+
+    private static void record(SortMetrics metrics, Algorithm algorithm, int length, SortCounter counter, long start) {
+        counter.phase(SortMetrics.Phase.TOTAL, start);
+        metrics.record(algorithm, length, counter);
+    }
+
+    /**
+     * Métricas acumuladas de todas as ordenações de int feitas pela fachada.
+     *
+     * @return Métricas compartilhadas; use {@link SortMetrics#snapshot()} para exportá-las.
+     */
+    public static SortMetrics metrics() {
+        return METRICS;
+    }
+
+    /**
+     * Métricas acumuladas das ordenações de long.
+     *
+     * @return Métricas compartilhadas.
+     */
+    public static SortMetrics longMetrics() {
+        return LONG_METRICS;
+    }
+
+    /**
+     * Métricas acumuladas das ordenações de double.
+     *
+     * @return Métricas compartilhadas.
+     */
+    public static SortMetrics doubleMetrics() {
+        return DOUBLE_METRICS;
+    }
+
+    /**
+     * Métricas acumuladas das ordenações de objetos.
+     *
+     * @return Métricas compartilhadas.
+     */
+    public static SortMetrics objectMetrics() {
+        return OBJECT_METRICS;
+    }
+
+    /**
+     * Devolve a estratégia de ordenação de vetores de long para o algoritmo.
+     *
+     * @param algorithm Algoritmo desejado.
+     * @return Estratégia sem estado, que pode ser compartilhada entre threads.
+     */
+    public static LongSorter longSorter(Algorithm algorithm) {
+        switch (algorithm) {
+            case SELECTION: return (array, from, to) -> instrumented(algorithm, LongSorts::selectionSort, array, from, to);
+            case INSERTION: return (array, from, to) -> instrumented(algorithm, LongSorts::insertionSort, array, from, to);
+            case BUBBLE: return (array, from, to) -> instrumented(algorithm, LongSorts::bubbleSort, array, from, to);
+            case QUICK: return (array, from, to) -> instrumented(algorithm, LongSorts::quickSort, array, from, to);
+            case SHELL: return (array, from, to) -> instrumented(algorithm, LongSorts::shellSort, array, from, to);
+            case COUNTING: return (array, from, to) -> instrumented(algorithm, LongSorts::countingSort, array, from, to);
+            case MERGE: return (array, from, to) -> instrumented(algorithm, LongSorts::mergeSort, array, from, to);
+            case RADIX: return (array, from, to) -> instrumented(algorithm, LongSorts::radixSort, array, from, to);
+            case HEAP: return (array, from, to) -> instrumented(algorithm, LongSorts::heapSort, array, from, to);
+            default: throw new IllegalArgumentException("Algoritmo desconhecido: " + algorithm);
+        }
+    }
+
+    /**
+     * Devolve a estratégia de ordenação de vetores de double para o algoritmo.
+     * A ordem é a de {@link Double#compare}: -0.0 antes de 0.0 e NaN no fim.
+     * Counting sort não se aplica a double.
+     *
+     * @param algorithm Algoritmo desejado.
+     * @return Estratégia sem estado, que pode ser compartilhada entre threads.
+     */
+    public static DoubleSorter doubleSorter(Algorithm algorithm) {
+        switch (algorithm) {
+            case SELECTION: return (array, from, to) -> instrumented(algorithm, DoubleSorts::selectionSort, array, from, to);
+            case INSERTION: return (array, from, to) -> instrumented(algorithm, DoubleSorts::insertionSort, array, from, to);
+            case BUBBLE: return (array, from, to) -> instrumented(algorithm, DoubleSorts::bubbleSort, array, from, to);
+            case QUICK: return (array, from, to) -> instrumented(algorithm, DoubleSorts::quickSort, array, from, to);
+            case SHELL: return (array, from, to) -> instrumented(algorithm, DoubleSorts::shellSort, array, from, to);
+            case MERGE: return (array, from, to) -> instrumented(algorithm, DoubleSorts::mergeSort, array, from, to);
+            case RADIX: return (array, from, to) -> instrumented(algorithm, DoubleSorts::radixSort, array, from, to);
+            case HEAP: return (array, from, to) -> instrumented(algorithm, DoubleSorts::heapSort, array, from, to);
+            default: throw new IllegalArgumentException("Algoritmo indisponível para double: " + algorithm);
+        }
+    }
+
+    /**
+     * Devolve a estratégia de ordenação de vetores de objetos para o algoritmo.
+     * Counting e radix sort não se aplicam a comparadores arbitrários.
+     *
+     * @param algorithm Algoritmo desejado.
+     * @return Estratégia sem estado, que pode ser compartilhada entre threads.
+     */
+    public static ObjectSorter objectSorter(Algorithm algorithm) {
+        switch (algorithm) {
+            case SELECTION: return instrumented(algorithm, ObjectSorts::selectionSort);
+            case INSERTION: return instrumented(algorithm, ObjectSorts::insertionSort);
+            case BUBBLE: return instrumented(algorithm, ObjectSorts::bubbleSort);
+            case QUICK: return instrumented(algorithm, ObjectSorts::quickSort);
+            case SHELL: return instrumented(algorithm, ObjectSorts::shellSort);
+            case MERGE: return instrumented(algorithm, ObjectSorts::mergeSort);
+            case HEAP: return instrumented(algorithm, ObjectSorts::heapSort);
+            default: throw new IllegalArgumentException("Algoritmo indisponível para objetos: " + algorithm);
+        }
+    }
+
+    public static void sort(int[] array, int from, int to, Algorithm algorithm) {
+        intSorter(algorithm).sort(array, from, to);
+    }
+
+    public static void sort(long[] array, int from, int to, Algorithm algorithm) {
+        longSorter(algorithm).sort(array, from, to);
+    }
+
+    public static void sort(double[] array, int from, int to, Algorithm algorithm) {
+        doubleSorter(algorithm).sort(array, from, to);
+    }
+
+    public static <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator, Algorithm algorithm) {
+        objectSorter(algorithm).sort(array, from, to, comparator);
+    }
+
+    static void checkRange(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+
+        if (from < 0 || to > length) {
+            throw new ArrayIndexOutOfBoundsException("Intervalo [" + from + ", " + to + ") fora do vetor de tamanho " + length);
+        }
+    }
+
+    static boolean isDense(long range, int length) {
+        return range <= Math.max((long) length * SPARSE_FACTOR, MIN_DENSE_RANGE);
+    }
+
+    static int[] ciuraGaps(int length) {
+        int[] known = { 1, 4, 10, 23, 57, 132, 301, 701, 1750 };
+        int[] gaps = new int[64];
+        int count = 0;
+
+        for (int i = 0; i < known.length && known[i] < length; i++) {
+            gaps[count++] = known[i];
+        }
+
+        if (count == known.length) {
+            for (double h = known[known.length - 1] * 2.25; h < length; h *= 2.25) {
+                gaps[count++] = (int) h;
+            }
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(gaps, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,273 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Código fonte - Redes de ordenação para as folhas dos algoritmos recursivos
+ *
+ * O quicksort (04-quick-sort, networkIntroSort) e o merge sort (07-merge-sort,
+ * networkMergeSort) param a recursão em blocos pequenos e os ordenam com a rede
+ * de Batcher em vez da inserção. Como cada programa é compilado sozinho, os
+ * dois levam uma cópia de pairs e da rede escalar, até 16 elementos e com os
+ * contadores de comparações e movimentações; o kernel vetorial, que depende de
+ * um módulo incubado, fica só aqui. Este programa mede só as folhas: blocos de 8,
+ * 16 e 32 inteiros ordenados por inserção, pela rede escalar e pelo kernel de
+ * {@link #KERNEL}, conferidos com Arrays.sort.
+ *
+ * O kernel vetorial (VectorSortingNetworks.java) usa o módulo incubado
+ * jdk.incubator.vector, que precisa ser pedido na compilação e na execução:
+ *
+ *     javac --add-modules jdk.incubator.vector *.java
+ *     java --add-modules jdk.incubator.vector Main
+ *
+ * Compilado só com javac Main.java, KERNEL é a rede escalar.
+ *
+ * @author Artur Bomtempo Colen
+ * @algorithm Sorting
+ * @type Sorting Network
+ * @language Java
+ * @version 1.0
+ */
+public class Main {
+    static int[] numbersArray;
+    static int n;
+
+    static final int LEAF_SIZE = 32;
+
+    static final NetworkKernel KERNEL = loadKernel();
+
+    // Ordena array[from, from + length), length <= 32, com uma rede de ordenação.
+    // Fica dentro de Main para que VectorSortingNetworks.java a implemente sem
+    // acessar uma classe auxiliar de outro arquivo.
+    interface NetworkKernel {
+        String name();
+
+        // scratch tem pelo menos 32 posições e completa os blocos incompletos.
+        void sort(int[] array, int from, int length, int[] scratch);
+    }
+
+    static int[] scratch = new int[LEAF_SIZE];
+
+    // VectorSortingNetworks só é referenciado por nome: sem o módulo, a classe
+    // não foi compilada ou não carrega, e as folhas ficam com a rede escalar.
+    static NetworkKernel loadKernel() {
+        try {
+            return (NetworkKernel) Class.forName("VectorSortingNetworks").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarNetworkKernel();
+        }
+    }
+
+    public static void insertionSort(int left, int right) {
+        for (int i = left + 1; i <= right; i++) {
+            int temp = numbersArray[i];
+            int j = i - 1;
+
+            while ((j >= left) && (numbersArray[j] > temp)) {
+                numbersArray[j + 1] = numbersArray[j];
+                j--;
+            }
+
+            numbersArray[j + 1] = temp;
+        }
+    }
+
+    // Ordena cada bloco de leaf elementos de numbersArray isoladamente: 0 usa
+    // inserção, 1 a rede escalar e 2 o KERNEL.
+    public static void sortLeaves(int leaf, int variant) {
+        for (int from = 0; from + leaf <= n; from += leaf) {
+            if (variant == 0) {
+                insertionSort(from, from + leaf - 1);
+            } else if (variant == 1) {
+                SortingNetworks.sort(numbersArray, from, leaf, scratch);
+            } else {
+                KERNEL.sort(numbersArray, from, leaf, scratch);
+            }
+        }
+    }
+
+    // Melhor tempo de algumas repetições, depois de aquecer o JIT.
+    public static long measure(int[] input, int leaf, int variant, int repetitions) {
+        long best = Long.MAX_VALUE;
+
+        for (int r = 0; r < repetitions; r++) {
+            numbersArray = input.clone();
+            n = numbersArray.length;
+
+            long startTime = System.nanoTime();
+            sortLeaves(leaf, variant);
+            best = Math.min(best, System.nanoTime() - startTime);
+        }
+
+        return best;
+    }
+
+    // Confere as três variantes com Arrays.sort em blocos de todos os tamanhos
+    // de 1 a LEAF_SIZE, inclusive os incompletos, que passam por scratch.
+    public static void verify(Random rand) {
+        for (int length = 1; length <= LEAF_SIZE; length++) {
+            for (int r = 0; r < 100; r++) {
+                int[] block = new int[length + 2];
+
+                for (int i = 0; i < block.length; i++) {
+                    block[i] = r % 2 == 0 ? rand.nextInt() : rand.nextInt(4);
+                }
+
+                int[] expected = block.clone();
+                Arrays.sort(expected, 1, length + 1);
+
+                for (int variant = 0; variant < 3; variant++) {
+                    numbersArray = block.clone();
+                    n = numbersArray.length;
+
+                    if (variant == 0) {
+                        insertionSort(1, length);
+                    } else if (variant == 1) {
+                        SortingNetworks.sort(numbersArray, 1, length, scratch);
+                    } else {
+                        KERNEL.sort(numbersArray, 1, length, scratch);
+                    }
+
+                    if (!Arrays.equals(numbersArray, expected)) {
+                        throw new Error("Bloco de " + length + " fora de ordem na variante " + variant);
+                    }
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+        Random rand = new Random();
+        int[] input = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            input[i] = rand.nextInt();
+        }
+
+        verify(rand);
+
+        System.out.println("Kernel: " + KERNEL.name());
+
+        String[] names = { "inserção", "rede escalar", "kernel" };
+
+        for (int leaf = 8; leaf <= LEAF_SIZE; leaf *= 2) {
+            long[] times = new long[names.length];
+
+            for (int variant = 0; variant < names.length; variant++) {
+                measure(input, leaf, variant, 5);
+                times[variant] = measure(input, leaf, variant, 10);
+            }
+
+            System.out.println("Folhas de " + leaf + ":");
+
+            for (int variant = 0; variant < names.length; variant++) {
+                System.out.printf("  %s: %d ns (redução: %.1f%%)%n", names[variant], times[variant],
+                        100.0 * (times[0] - times[variant]) / times[0]);
+            }
+        }
+    }
+}
+
+/**
+ * Rede escalar de {@link SortingNetworks}, usada sem o módulo de vetores.
+ */
+class ScalarNetworkKernel implements Main.NetworkKernel {
+    @Override
+    public String name() {
+        return "escalar";
+    }
+
+    @Override
+    public void sort(int[] array, int from, int length, int[] scratch) {
+        SortingNetworks.sort(array, from, length, scratch);
+    }
+}
+
+/**
+ * Redes de ordenação de Batcher (odd-even merge sort) para blocos de 8, 16 e
+ * 32 inteiros. Cada comparador é um par (i, j) fixo e a troca é feita com
+ * Math.min/Math.max, que o HotSpot compila para cmov: a sequência de operações
+ * não depende dos dados e não há desvios para o preditor errar, ao contrário do
+ * laço interno da inserção.
+ *
+ * Os comparadores de cada nível são independentes entre si; a versão com
+ * jdk.incubator.vector fica em VectorSortingNetworks.java, atrás de
+ * {@link Main.NetworkKernel}, e esta classe é o núcleo escalar usado sem o módulo.
+ */
+class SortingNetworks {
+    static final int[] NETWORK_8 = pairs(8);
+    static final int[] NETWORK_16 = pairs(16);
+    static final int[] NETWORK_32 = pairs(32);
+
+    // Pares (i, j), i < j, da rede odd-even merge de Batcher para size potência de 2
+    // (Knuth, TAOCP vol. 3, 5.3.4).
+    public static int[] pairs(int size) {
+        int[] pairs = new int[size * size];
+        int count = 0;
+
+        for (int p = 1; p < size; p <<= 1) {
+            for (int k = p; k >= 1; k >>= 1) {
+                for (int j = k % p; j + k < size; j += 2 * k) {
+                    for (int i = 0; i < k && i + j + k < size; i++) {
+                        if ((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+                            pairs[count++] = i + j;
+                            pairs[count++] = i + j + k;
+                        }
+                    }
+                }
+            }
+        }
+
+        int[] result = new int[count];
+        System.arraycopy(pairs, 0, result, 0, count);
+        return result;
+    }
+
+    public static void network(int[] array, int from, int[] pairs) {
+        for (int p = 0; p < pairs.length; p += 2) {
+            int i = from + pairs[p], j = from + pairs[p + 1];
+            int x = array[i], y = array[j];
+
+            array[i] = Math.min(x, y);
+            array[j] = Math.max(x, y);
+        }
+    }
+
+    public static void sort8(int[] array, int from) {
+        network(array, from, NETWORK_8);
+    }
+
+    public static void sort16(int[] array, int from) {
+        network(array, from, NETWORK_16);
+    }
+
+    public static void sort32(int[] array, int from) {
+        network(array, from, NETWORK_32);
+    }
+
+    /**
+     * Ordena array[from, from + length), length <= 32, com a menor rede que
+     * cabe o bloco. Blocos incompletos são copiados para scratch e completados
+     * com Integer.MAX_VALUE, que termina no fim e não volta para o vetor.
+     *
+     * @param scratch Vetor de pelo menos 32 posições, reaproveitado entre chamadas.
+     */
+    public static void sort(int[] array, int from, int length, int[] scratch) {
+        int[] pairs = length <= 8 ? NETWORK_8 : length <= 16 ? NETWORK_16 : NETWORK_32;
+        int size = length <= 8 ? 8 : length <= 16 ? 16 : 32;
+
+        if (length == size) {
+            network(array, from, pairs);
+            return;
+        }
+
+        System.arraycopy(array, from, scratch, 0, length);
+
+        for (int i = length; i < size; i++) {
+            scratch[i] = Integer.MAX_VALUE;
+        }
+
+        network(scratch, 0, pairs);
+        System.arraycopy(scratch, 0, array, from, length);
+    }
+}
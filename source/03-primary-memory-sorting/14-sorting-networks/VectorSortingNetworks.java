@@ -0,0 +1,152 @@
+import java.util.Arrays;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Redes de ordenação de 8, 16 e 32 inteiros com a API de vetores
+ * (jdk.incubator.vector). Em vez da rede odd-even de {@link SortingNetworks},
+ * usa a rede bitônica, que tem alguns comparadores a mais, mas em cada nível
+ * compara todo elemento i com i ^ d: o nível inteiro vira um min e um max de
+ * vetores, com uma permutação (rearrange) quando d é menor que o número de
+ * lanes e um blend que escolhe, por lane, qual dos dois resultados fica.
+ *
+ * SPECIES tem no máximo 8 lanes (256 bits), o tamanho do menor bloco; blocos
+ * maiores são tratados como vários vetores, e os níveis com d de um vetor ou
+ * mais comparam vetores inteiros entre si, sem permutação. A espécie é uma
+ * constante static final: com ela num campo de instância o C2 não intrinsifica
+ * as operações e cada IntVector vira um objeto alocado.
+ * Cada nível lê e grava o bloco no vetor, que fica na cache L1, para que os
+ * IntVector sejam só variáveis locais e o JIT os mantenha em registradores.
+ *
+ * Só compila e carrega com --add-modules jdk.incubator.vector; Main.loadKernel
+ * usa a rede escalar quando esta classe não está disponível.
+ */
+class VectorSortingNetworks implements Main.NetworkKernel {
+    static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED.vectorBitSize() >= 256
+            ? IntVector.SPECIES_256
+            : IntVector.SPECIES_PREFERRED;
+
+    private final Network network8 = new Network(8);
+    private final Network network16 = new Network(16);
+    private final Network network32 = new Network(32);
+
+    @Override
+    public String name() {
+        return "vetorial, " + SPECIES.length() + " ints por vetor";
+    }
+
+    @Override
+    public void sort(int[] array, int from, int length, int[] scratch) {
+        Network network = length <= 8 ? network8 : length <= 16 ? network16 : network32;
+
+        if (length == network.size) {
+            network.sort(array, from);
+            return;
+        }
+
+        System.arraycopy(array, from, scratch, 0, length);
+        Arrays.fill(scratch, length, network.size, Integer.MAX_VALUE);
+        network.sort(scratch, 0);
+        System.arraycopy(scratch, 0, array, from, length);
+    }
+
+    // Java não cria vetores de tipo genérico; o cast é seguro porque partners
+    // só recebe permutações de SPECIES.
+    @SuppressWarnings("unchecked")
+    private static VectorShuffle<Integer>[] shuffles(int length) {
+        return (VectorShuffle<Integer>[]) new VectorShuffle<?>[length];
+    }
+
+    /**
+     * Rede bitônica de size elementos: para cada tamanho de sequência s = 2, 4,
+     * ..., size e cada distância d = s / 2, ..., 1, um nível que compara i com
+     * i ^ d, em ordem crescente se i & s == 0 e decrescente caso contrário.
+     */
+    static final class Network {
+        final int size;
+
+        private final int[] sequence;
+        private final int[] distance;
+        private final VectorShuffle<Integer>[] partners;
+        // Para os níveis dentro de um vetor: 1 na lane que fica com o máximo do par.
+        private final int[][] takeMax;
+
+        Network(int size) {
+            int lanes = SPECIES.length();
+
+            this.size = size;
+
+            int levels = 0;
+
+            for (int s = 2; s <= size; s <<= 1) {
+                levels += Integer.numberOfTrailingZeros(s);
+            }
+
+            sequence = new int[levels];
+            distance = new int[levels];
+            partners = shuffles(levels);
+            takeMax = new int[levels][];
+
+            int level = 0;
+
+            for (int s = 2; s <= size; s <<= 1) {
+                for (int d = s >> 1; d >= 1; d >>= 1, level++) {
+                    int step = d;
+
+                    sequence[level] = s;
+                    distance[level] = d;
+
+                    if (d < lanes) {
+                        partners[level] = VectorShuffle.fromOp(SPECIES, i -> i ^ step);
+                        takeMax[level] = new int[size];
+
+                        for (int i = 0; i < size; i++) {
+                            boolean ascending = (i & s) == 0;
+                            boolean upper = (i & d) != 0;
+
+                            takeMax[level][i] = upper == ascending ? 1 : 0;
+                        }
+                    }
+                }
+            }
+        }
+
+        void sort(int[] array, int from) {
+            int lanes = SPECIES.length();
+
+            for (int level = 0; level < distance.length; level++) {
+                int d = distance[level];
+
+                if (d >= lanes) {
+                    int s = sequence[level];
+
+                    for (int j = 0; j < size; j += lanes) {
+                        if ((j & d) != 0) {
+                            continue;
+                        }
+
+                        IntVector a = IntVector.fromArray(SPECIES, array, from + j);
+                        IntVector b = IntVector.fromArray(SPECIES, array, from + j + d);
+                        boolean ascending = (j & s) == 0;
+
+                        (ascending ? a.min(b) : a.max(b)).intoArray(array, from + j);
+                        (ascending ? a.max(b) : a.min(b)).intoArray(array, from + j + d);
+                    }
+                } else {
+                    VectorShuffle<Integer> partner = partners[level];
+                    int[] max = takeMax[level];
+
+                    for (int j = 0; j < size; j += lanes) {
+                        IntVector v = IntVector.fromArray(SPECIES, array, from + j);
+                        IntVector w = v.rearrange(partner);
+
+                        v.min(w).blend(v.max(w), IntVector.fromArray(SPECIES, max, j).compare(VectorOperators.NE, 0))
+                                .intoArray(array, from + j);
+                    }
+                }
+            }
+        }
+    }
+}